@@ -1,8 +1,10 @@
 package ru.practicum.shareit.booking;
 
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
 import jakarta.validation.constraints.Positive;
 import jakarta.validation.constraints.PositiveOrZero;
+import jakarta.validation.constraints.Size;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
@@ -10,8 +12,11 @@ import org.springframework.stereotype.Controller;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 import ru.practicum.shareit.booking.dto.BookItemRequestDto;
+import ru.practicum.shareit.booking.dto.BookingApprovalDto;
 import ru.practicum.shareit.booking.dto.BookingState;
 
+import java.util.List;
+
 @Controller
 @RequestMapping(path = "/bookings")
 @RequiredArgsConstructor
@@ -25,11 +30,12 @@ public class BookingController {
 	public ResponseEntity<Object> getBookings(@RequestHeader(USER_ID_HEADER) long userId,
 											  @RequestParam(name = "state", defaultValue = "all") String stateParam,
 											  @PositiveOrZero @RequestParam(name = "from", defaultValue = "0") Integer from,
-											  @Positive @RequestParam(name = "size", defaultValue = "10") Integer size) {
+											  @Positive @RequestParam(name = "size", defaultValue = "10") Integer size,
+											  @Positive @RequestParam(name = "cursor", required = false) Long cursor) {
 		BookingState state = BookingState.from(stateParam)
 				.orElseThrow(() -> new IllegalArgumentException("Unknown state: " + stateParam));
-		log.info("Get booking with state {}, userId={}, from={}, size={}", stateParam, userId, from, size);
-		return bookingClient.getBookings(userId, state, from, size);
+		log.info("Get booking with state {}, userId={}, from={}, size={}, cursor={}", stateParam, userId, from, size, cursor);
+		return bookingClient.getBookings(userId, state, from, size, cursor);
 	}
 
 	@PostMapping
@@ -54,14 +60,23 @@ public class BookingController {
 		return bookingClient.approveBooking(userId, bookingId, approved);
 	}
 
+	@PatchMapping("/batch")
+	public ResponseEntity<Object> approveBookings(@RequestHeader(USER_ID_HEADER) long userId,
+												  @RequestBody @NotEmpty @Size(max = 500)
+												  List<@Valid BookingApprovalDto> approvals) {
+		log.info("Approve {} bookings, userId={}", approvals.size(), userId);
+		return bookingClient.approveBookings(userId, approvals);
+	}
+
 	@GetMapping("/owner")
 	public ResponseEntity<Object> getOwnerBookings(@RequestHeader(USER_ID_HEADER) long userId,
 												   @RequestParam(name = "state", defaultValue = "all") String stateParam,
 												   @PositiveOrZero @RequestParam(name = "from", defaultValue = "0") Integer from,
-												   @Positive @RequestParam(name = "size", defaultValue = "10") Integer size) {
+												   @Positive @RequestParam(name = "size", defaultValue = "10") Integer size,
+												   @Positive @RequestParam(name = "cursor", required = false) Long cursor) {
 		BookingState state = BookingState.from(stateParam)
 				.orElseThrow(() -> new IllegalArgumentException("Unknown state: " + stateParam));
-		log.info("Get owner bookings with state {}, userId={}, from={}, size={}", stateParam, userId, from, size);
-		return bookingClient.getOwnerBookings(userId, state, from, size);
+		log.info("Get owner bookings with state {}, userId={}, from={}, size={}, cursor={}", stateParam, userId, from, size, cursor);
+		return bookingClient.getOwnerBookings(userId, state, from, size, cursor);
 	}
 }
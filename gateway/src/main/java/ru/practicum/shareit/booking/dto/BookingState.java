@@ -14,7 +14,11 @@ public enum BookingState {
 	// Отклоненные
 	REJECTED,
 	// Ожидающие подтверждения
-	WAITING;
+	WAITING,
+	// Отмененные
+	CANCELED,
+	// Просроченные
+	EXPIRED;
 
 	public static Optional<BookingState> from(String stringState) {
 		for (BookingState state : values()) {
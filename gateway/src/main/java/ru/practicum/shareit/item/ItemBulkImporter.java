@@ -0,0 +1,201 @@
+package ru.practicum.shareit.item;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemImportDto;
+import ru.practicum.shareit.item.dto.ItemImportResultDto;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Потоковый импорт вещей из NDJSON или CSV: строки проверяются здесь, корректные уходят на сервер
+ * пакетами, результат по каждой строке пишется в ответ в порядке строк входного файла.
+ */
+@Slf4j
+@Component
+public class ItemBulkImporter {
+    public static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+    private static final TypeReference<List<ItemImportResultDto>> RESULTS = new TypeReference<>() {
+    };
+
+    private final ItemClient itemClient;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final int chunkSize;
+
+    public ItemBulkImporter(ItemClient itemClient,
+                            ObjectMapper objectMapper,
+                            Validator validator,
+                            @Value("${shareit.item.bulk.chunk-size:1000}") int chunkSize) {
+        this.itemClient = itemClient;
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+        this.chunkSize = chunkSize;
+    }
+
+    public void importItems(long userId, MediaType contentType, InputStream input, OutputStream output)
+            throws IOException {
+        boolean csv = MediaType.parseMediaType("text/csv").isCompatibleWith(contentType);
+        BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+        Map<String, Integer> columns = csv ? readHeader(reader.readLine()) : Map.of();
+
+        List<ItemImportResultDto> pending = new ArrayList<>();
+        List<ItemImportDto> chunk = new ArrayList<>();
+        long lineNumber = csv ? 1 : 0;
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank()) {
+                continue;
+            }
+            ItemImportResultDto result = new ItemImportResultDto(lineNumber, null, null);
+            pending.add(result);
+            try {
+                ItemDto itemDto = csv ? parseCsv(line, columns) : objectMapper.readValue(line, ItemDto.class);
+                String error = validate(itemDto);
+                if (error != null) {
+                    result.setError(error);
+                } else {
+                    chunk.add(new ItemImportDto(lineNumber, itemDto.getName(), itemDto.getDescription(),
+                            itemDto.getAvailable(), itemDto.getRequestId()));
+                }
+            } catch (JsonProcessingException e) {
+                result.setError("Некорректная строка: " + e.getOriginalMessage());
+            } catch (IllegalArgumentException e) {
+                result.setError("Некорректная строка: " + e.getMessage());
+            }
+
+            if (pending.size() == chunkSize) {
+                send(userId, chunk, pending, output);
+            }
+        }
+        send(userId, chunk, pending, output);
+    }
+
+    private void send(long userId, List<ItemImportDto> chunk, List<ItemImportResultDto> pending,
+                      OutputStream output) throws IOException {
+        if (!chunk.isEmpty()) {
+            Map<Long, ItemImportResultDto> imported = new HashMap<>();
+            ResponseEntity<Object> response = itemClient.importItems(chunk, userId);
+            if (response.getStatusCode().is2xxSuccessful()) {
+                objectMapper.convertValue(response.getBody(), RESULTS)
+                        .forEach(result -> imported.put(result.getLine(), result));
+            } else {
+                log.warn("Bulk import chunk of {} items rejected with {}, userId={}",
+                        chunk.size(), response.getStatusCode(), userId);
+            }
+            for (ItemImportDto row : chunk) {
+                imported.putIfAbsent(row.getLine(), new ItemImportResultDto(row.getLine(), null,
+                        "Сервер отклонил пакет: " + response.getStatusCode().value()));
+            }
+            for (int i = 0; i < pending.size(); i++) {
+                ItemImportResultDto result = imported.get(pending.get(i).getLine());
+                if (result != null) {
+                    pending.set(i, result);
+                }
+            }
+            chunk.clear();
+        }
+
+        for (ItemImportResultDto result : pending) {
+            output.write(objectMapper.writeValueAsBytes(result));
+            output.write('\n');
+        }
+        output.flush();
+        pending.clear();
+    }
+
+    private String validate(ItemDto itemDto) {
+        Set<ConstraintViolation<ItemDto>> violations = validator.validate(itemDto);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(ConstraintViolation::getMessage)
+                .sorted()
+                .collect(Collectors.joining("; "));
+    }
+
+    private static Map<String, Integer> readHeader(String header) {
+        if (header == null) {
+            return Map.of();
+        }
+        List<String> names = splitCsv(header);
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < names.size(); i++) {
+            columns.put(names.get(i).strip().toLowerCase(Locale.ROOT), i);
+        }
+        return columns;
+    }
+
+    private static ItemDto parseCsv(String line, Map<String, Integer> columns) {
+        List<String> values = splitCsv(line);
+        String available = column(values, columns, "available");
+        String requestId = column(values, columns, "requestid");
+        if (available != null && !available.equalsIgnoreCase("true") && !available.equalsIgnoreCase("false")) {
+            throw new IllegalArgumentException("available должно быть true или false");
+        }
+        return new ItemDto(null,
+                column(values, columns, "name"),
+                column(values, columns, "description"),
+                available == null ? null : Boolean.valueOf(available),
+                requestId == null ? null : Long.valueOf(requestId));
+    }
+
+    private static String column(List<String> values, Map<String, Integer> columns, String name) {
+        Integer index = columns.get(name);
+        if (index == null || index >= values.size() || values.get(index).isEmpty()) {
+            return null;
+        }
+        return values.get(index);
+    }
+
+    private static List<String> splitCsv(String line) {
+        List<String> values = new ArrayList<>();
+        StringBuilder value = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    value.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    value.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                values.add(value.toString());
+                value.setLength(0);
+            } else {
+                value.append(c);
+            }
+        }
+        values.add(value.toString());
+        return values;
+    }
+}
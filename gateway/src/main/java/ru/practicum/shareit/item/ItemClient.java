@@ -9,7 +9,11 @@ import org.springframework.stereotype.Service;
 import org.springframework.web.util.DefaultUriBuilderFactory;
 import ru.practicum.shareit.client.BaseClient;
 import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemImportDto;
 
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 @Service
@@ -29,28 +33,62 @@ public class ItemClient extends BaseClient {
         return post("", userId, itemDto);
     }
 
+    public ResponseEntity<Object> importItems(List<ItemImportDto> rows, Long userId) {
+        return post("/bulk", userId, rows);
+    }
+
     public ResponseEntity<Object> updateItem(Long itemId, ItemDto itemDto, Long userId) {
         return patch("/" + itemId, userId, itemDto);
     }
 
-    public ResponseEntity<Object> getItemById(Long itemId, Long userId) {
-        return get("/" + itemId, userId);
+    public ResponseEntity<Object> getItemById(Long itemId, Long userId, Integer commentsFrom, Integer commentsSize) {
+        Map<String, Object> parameters = new HashMap<>();
+        parameters.put("commentsFrom", commentsFrom);
+        if (commentsSize != null) {
+            parameters.put("commentsSize", commentsSize);
+            return get("/" + itemId + "?commentsFrom={commentsFrom}&commentsSize={commentsSize}", userId, parameters);
+        }
+        return get("/" + itemId + "?commentsFrom={commentsFrom}", userId, parameters);
     }
 
-    public ResponseEntity<Object> getItemsByOwner(Long userId, Integer from, Integer size) {
+    public ResponseEntity<Object> getItemsByOwner(Long userId, Integer from, Integer size, String view) {
         Map<String, Object> parameters = Map.of(
                 "from", from,
-                "size", size
+                "size", size,
+                "view", view
         );
-        return get("?from={from}&size={size}", userId, parameters);
+        return get("?from={from}&size={size}&view={view}", userId, parameters);
     }
 
-    public ResponseEntity<Object> searchItems(String text, Long userId, Integer from, Integer size) {
+    public ResponseEntity<Object> getItemAvailability(Long itemId, Long userId, LocalDateTime from, LocalDateTime to) {
         Map<String, Object> parameters = Map.of(
-                "text", text,
-                "from", from,
-                "size", size
+                "from", from.toString(),
+                "to", to.toString()
+        );
+        return get("/" + itemId + "/availability?from={from}&to={to}", userId, parameters);
+    }
+
+    public ResponseEntity<Object> searchItems(String text, Long userId, Integer from, Integer size, Long cursor,
+                                              boolean fuzzy, String view) {
+        Map<String, Object> parameters = new HashMap<>();
+        parameters.put("text", text);
+        parameters.put("from", from);
+        parameters.put("size", size);
+        parameters.put("fuzzy", fuzzy);
+        parameters.put("view", view);
+        String path = "/search?text={text}&from={from}&size={size}&fuzzy={fuzzy}&view={view}";
+        if (cursor == null) {
+            return get(path, userId, parameters);
+        }
+        parameters.put("cursor", cursor);
+        return get(path + "&cursor={cursor}", userId, parameters);
+    }
+
+    public ResponseEntity<Object> suggestItemNames(String prefix, Long userId, Integer limit) {
+        Map<String, Object> parameters = Map.of(
+                "prefix", prefix,
+                "limit", limit
         );
-        return get("/search?text={text}&from={from}&size={size}", userId, parameters);
+        return get("/suggest?prefix={prefix}&limit={limit}", userId, parameters);
     }
 }
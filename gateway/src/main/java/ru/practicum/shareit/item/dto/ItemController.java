@@ -1,18 +1,28 @@
 package ru.practicum.shareit.item.dto;
 
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Pattern;
 import jakarta.validation.constraints.Positive;
 import jakarta.validation.constraints.PositiveOrZero;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import ru.practicum.shareit.comment.CommentClient;
 import ru.practicum.shareit.comment.dto.CommentRequestDto;
+import ru.practicum.shareit.item.ItemBulkImporter;
 import ru.practicum.shareit.item.ItemClient;
 
+import java.io.InputStream;
+import java.time.LocalDateTime;
+
 @Controller
 @RequestMapping(path = "/items")
 @RequiredArgsConstructor
@@ -20,8 +30,10 @@ import ru.practicum.shareit.item.ItemClient;
 @Validated
 public class ItemController {
     private static final String USER_ID_HEADER = "X-Sharer-User-Id";
+    private static final String VIEW_PATTERN = "summary|full";
     private final ItemClient itemClient;
     private final CommentClient commentClient;
+    private final ItemBulkImporter itemBulkImporter;
 
     @PostMapping
     public ResponseEntity<Object> createItem(@RequestHeader(USER_ID_HEADER) long userId,
@@ -30,6 +42,16 @@ public class ItemController {
         return itemClient.createItem(itemDto, userId);
     }
 
+    @PostMapping(path = "/bulk", consumes = {"application/x-ndjson", "text/csv"})
+    public ResponseEntity<StreamingResponseBody> importItems(@RequestHeader(USER_ID_HEADER) long userId,
+                                                             @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+                                                             InputStream body) {
+        log.info("Bulk import of items, userId={}, contentType={}", userId, contentType);
+        return ResponseEntity.ok()
+                .contentType(ItemBulkImporter.NDJSON)
+                .body(output -> itemBulkImporter.importItems(userId, MediaType.parseMediaType(contentType), body, output));
+    }
+
     @PatchMapping("/{itemId}")
     public ResponseEntity<Object> updateItem(@RequestHeader(USER_ID_HEADER) long userId,
                                              @PathVariable long itemId,
@@ -40,26 +62,59 @@ public class ItemController {
 
     @GetMapping("/{itemId}")
     public ResponseEntity<Object> getItemById(@RequestHeader(USER_ID_HEADER) long userId,
-                                              @PathVariable Long itemId) {
-        log.info("Get item {}, userId={}", itemId, userId);
-        return itemClient.getItemById(itemId, userId);
+                                              @PathVariable Long itemId,
+                                              @PositiveOrZero @RequestParam(defaultValue = "0") Integer commentsFrom,
+                                              @Positive @RequestParam(required = false) Integer commentsSize) {
+        log.info("Get item {}, userId={}, commentsFrom={}, commentsSize={}", itemId, userId, commentsFrom, commentsSize);
+        return itemClient.getItemById(itemId, userId, commentsFrom, commentsSize);
+    }
+
+    @GetMapping("/{itemId}/availability")
+    public ResponseEntity<Object> getItemAvailability(
+            @RequestHeader(USER_ID_HEADER) long userId,
+            @PathVariable Long itemId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        if (!to.isAfter(from)) {
+            throw new IllegalArgumentException("Parameter 'to' must be after 'from'");
+        }
+        log.info("Get availability of item {}, userId={}, from={}, to={}", itemId, userId, from, to);
+        return itemClient.getItemAvailability(itemId, userId, from, to);
     }
 
     @GetMapping
     public ResponseEntity<Object> getItemsByOwner(@RequestHeader(USER_ID_HEADER) long userId,
                                                   @PositiveOrZero @RequestParam(defaultValue = "0") Integer from,
-                                                  @Positive @RequestParam(defaultValue = "10") Integer size) {
-        log.info("Get items by owner, userId={}, from={}, size={}", userId, from, size);
-        return itemClient.getItemsByOwner(userId, from, size);
+                                                  @Positive @RequestParam(defaultValue = "10") Integer size,
+                                                  @Pattern(regexp = VIEW_PATTERN) @RequestParam(defaultValue = "full")
+                                                  String view) {
+        log.info("Get items by owner, userId={}, from={}, size={}, view={}", userId, from, size, view);
+        return itemClient.getItemsByOwner(userId, from, size, view);
     }
 
     @GetMapping("/search")
     public ResponseEntity<Object> searchItems(@RequestHeader(USER_ID_HEADER) long userId,
                                               @RequestParam String text,
                                               @PositiveOrZero @RequestParam(defaultValue = "0") Integer from,
-                                              @Positive @RequestParam(defaultValue = "10") Integer size) {
-        log.info("Search items, text={}, userId={}, from={}, size={}", text, userId, from, size);
-        return itemClient.searchItems(text, userId, from, size);
+                                              @Positive @RequestParam(defaultValue = "10") Integer size,
+                                              @Positive @RequestParam(required = false) Long cursor,
+                                              @RequestParam(defaultValue = "false") boolean fuzzy,
+                                              @Pattern(regexp = VIEW_PATTERN) @RequestParam(defaultValue = "full")
+                                              String view) {
+        if (fuzzy && cursor != null) {
+            throw new IllegalArgumentException("Parameter 'cursor' is not supported with 'fuzzy'");
+        }
+        log.info("Search items, text={}, userId={}, from={}, size={}, cursor={}, fuzzy={}, view={}",
+                text, userId, from, size, cursor, fuzzy, view);
+        return itemClient.searchItems(text, userId, from, size, cursor, fuzzy, view);
+    }
+
+    @GetMapping("/suggest")
+    public ResponseEntity<Object> suggestItemNames(@RequestHeader(USER_ID_HEADER) long userId,
+                                                   @RequestParam String prefix,
+                                                   @Positive @Max(10) @RequestParam(defaultValue = "10") Integer limit) {
+        log.info("Suggest item names, prefix={}, userId={}, limit={}", prefix, userId, limit);
+        return itemClient.suggestItemNames(prefix, userId, limit);
     }
 
     @PostMapping("/{itemId}/comment")
@@ -37,9 +37,10 @@ public class ItemRequestController {
     @GetMapping("/all")
     public ResponseEntity<Object> getAllRequests(@RequestHeader(USER_ID_HEADER) long userId,
                                                  @PositiveOrZero @RequestParam(defaultValue = "0") Integer from,
-                                                 @Positive @RequestParam(defaultValue = "10") Integer size) {
-        log.info("Get all item requests, userId={}, from={}, size={}", userId, from, size);
-        return itemRequestClient.getAllRequests(userId, from, size);
+                                                 @Positive @RequestParam(defaultValue = "10") Integer size,
+                                                 @Positive @RequestParam(required = false) Long cursor) {
+        log.info("Get all item requests, userId={}, from={}, size={}, cursor={}", userId, from, size, cursor);
+        return itemRequestClient.getAllRequests(userId, from, size, cursor);
     }
 
     @GetMapping("/{requestId}")
@@ -0,0 +1,182 @@
+package ru.practicum.shareit.item;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import ru.practicum.shareit.item.dto.ItemImportDto;
+import ru.practicum.shareit.item.dto.ItemImportResultDto;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ItemBulkImporterTest {
+    private static final MediaType CSV = MediaType.parseMediaType("text/csv");
+
+    @Mock
+    private ItemClient itemClient;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final List<List<ItemImportDto>> sentChunks = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(itemClient.importItems(anyList(), eq(1L))).thenAnswer(invocation -> {
+            List<ItemImportDto> rows = invocation.getArgument(0);
+            sentChunks.add(List.copyOf(rows));
+            return ResponseEntity.ok(rows.stream()
+                    .map(row -> new ItemImportResultDto(row.getLine(), row.getLine() * 10, null))
+                    .toList());
+        });
+    }
+
+    @Test
+    void importItems_whenCsvFieldsQuoted_thenKeepCommasAndEscapedQuotes() throws IOException {
+        List<ItemImportResultDto> results = importItems(1000, CSV, """
+                name,description,available,requestId
+                "Дрель, ударная","Сверлит ""бетон"", кирпич",true,7
+                """);
+
+        assertEquals(List.of(new ItemImportResultDto(2L, 20L, null)), results);
+        ItemImportDto row = sentChunks.get(0).get(0);
+        assertEquals("Дрель, ударная", row.getName());
+        assertEquals("Сверлит \"бетон\", кирпич", row.getDescription());
+        assertTrue(row.getAvailable());
+        assertEquals(7L, row.getRequestId());
+    }
+
+    @Test
+    void importItems_whenCsvHeaderReordered_thenMatchColumnsByName() throws IOException {
+        importItems(1000, CSV, """
+                Available, Description ,NAME
+                false,Ручная,Пила
+                """);
+
+        ItemImportDto row = sentChunks.get(0).get(0);
+        assertEquals("Пила", row.getName());
+        assertEquals("Ручная", row.getDescription());
+        assertFalse(row.getAvailable());
+        assertNull(row.getRequestId());
+    }
+
+    @Test
+    void importItems_whenBlankLines_thenSkipThemAndKeepLineNumbers() throws IOException {
+        List<ItemImportResultDto> results = importItems(1000, CSV, """
+                name,description,available
+
+                Дрель,Ударная,true
+                  \s
+                Пила,Ручная,false
+                """);
+
+        assertEquals(List.of(new ItemImportResultDto(3L, 30L, null), new ItemImportResultDto(5L, 50L, null)),
+                results);
+    }
+
+    @Test
+    void importItems_whenRowsMalformed_thenReportErrorsAndSendOnlyValidRows() throws IOException {
+        List<ItemImportResultDto> results = importItems(1000, CSV, """
+                name,description,available,requestId
+                Дрель,Ударная,yes,
+                Пила,Ручная,true,abc
+                ,Без названия,true,
+                Молоток,Обычный,true,
+                """);
+
+        assertEquals(4, results.size());
+        assertEquals("Некорректная строка: available должно быть true или false", results.get(0).getError());
+        assertTrue(results.get(1).getError().startsWith("Некорректная строка: "));
+        assertEquals("Название вещи не может быть пустым", results.get(2).getError());
+        assertEquals(new ItemImportResultDto(5L, 50L, null), results.get(3));
+        assertEquals(List.of(5L), sentChunks.get(0).stream().map(ItemImportDto::getLine).toList());
+    }
+
+    @Test
+    void importItems_whenNdjsonLineMalformed_thenReportErrorForThatLine() throws IOException {
+        List<ItemImportResultDto> results = importItems(1000, ItemBulkImporter.NDJSON, """
+                {"name":"Дрель","description":"Ударная","available":true}
+                {"name":"Пила",
+                """);
+
+        assertEquals(new ItemImportResultDto(1L, 10L, null), results.get(0));
+        assertEquals(2L, results.get(1).getLine());
+        assertTrue(results.get(1).getError().startsWith("Некорректная строка: "));
+    }
+
+    @Test
+    void importItems_whenRowsSpanSeveralChunks_thenSendEachChunkAndKeepOrder() throws IOException {
+        List<ItemImportResultDto> results = importItems(2, CSV, """
+                name,description,available
+                Дрель,Ударная,true
+                ,Без названия,true
+                Пила,Ручная,true
+                Молоток,Обычный,true
+                Лопата,Штыковая,true
+                """);
+
+        assertEquals(List.of(2L, 3L, 4L, 5L, 6L), results.stream().map(ItemImportResultDto::getLine).toList());
+        assertNotNull(results.get(1).getError());
+        assertEquals(List.of(List.of(2L), List.of(4L, 5L), List.of(6L)), sentChunks.stream()
+                .map(chunk -> chunk.stream().map(ItemImportDto::getLine).toList())
+                .toList());
+    }
+
+    @Test
+    void importItems_whenChunkHasNoValidRows_thenDoNotCallServer() throws IOException {
+        List<ItemImportResultDto> results = importItems(2, CSV, """
+                name,description,available
+                ,Без названия,true
+                Пила,,true
+                """);
+
+        assertEquals(2, results.size());
+        assertTrue(results.stream().allMatch(result -> result.getError() != null));
+        verify(itemClient, never()).importItems(anyList(), any());
+    }
+
+    @Test
+    void importItems_whenServerRejectsChunk_thenReportStatusForItsRows() throws IOException {
+        doReturn(ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build())
+                .when(itemClient).importItems(anyList(), eq(1L));
+
+        List<ItemImportResultDto> results = importItems(1000, CSV, """
+                name,description,available
+                Дрель,Ударная,true
+                ,Без названия,true
+                """);
+
+        assertEquals(new ItemImportResultDto(2L, null, "Сервер отклонил пакет: 503"), results.get(0));
+        assertEquals("Название вещи не может быть пустым", results.get(1).getError());
+    }
+
+    private List<ItemImportResultDto> importItems(int chunkSize, MediaType contentType, String body)
+            throws IOException {
+        ItemBulkImporter importer = new ItemBulkImporter(itemClient, objectMapper,
+                Validation.buildDefaultValidatorFactory().getValidator(), chunkSize);
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        importer.importItems(1L, contentType, new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)), output);
+
+        List<ItemImportResultDto> results = new ArrayList<>();
+        for (String line : output.toString(StandardCharsets.UTF_8).split("\n")) {
+            results.add(objectMapper.readValue(line, ItemImportResultDto.class));
+        }
+        return results;
+    }
+}
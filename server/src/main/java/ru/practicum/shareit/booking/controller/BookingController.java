@@ -2,6 +2,9 @@ package ru.practicum.shareit.booking.controller;
 
 import lombok.RequiredArgsConstructor;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import ru.practicum.shareit.booking.dto.BookingApprovalDto;
+import ru.practicum.shareit.booking.dto.BookingApprovalResultDto;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.service.BookingService;
 
@@ -27,21 +30,37 @@ public class BookingController {
         return bookingService.approveBooking(bookingId, ownerId, approved);
     }
 
+    @PatchMapping("/batch")
+    public List<BookingApprovalResultDto> approveBookings(@RequestBody List<BookingApprovalDto> approvals,
+                                                          @RequestHeader(USER_ID_HEADER) Long ownerId) {
+        return bookingService.approveBookings(approvals, ownerId);
+    }
+
     @GetMapping("/{bookingId}")
     public BookingDto getBookingById(@PathVariable Long bookingId,
-                                     @RequestHeader(USER_ID_HEADER) Long userId) {
+                                     @RequestHeader(USER_ID_HEADER) Long userId,
+                                     WebRequest request) {
+        if (request.checkNotModified(bookingService.getBookingETag(bookingId, userId))) {
+            return null;
+        }
         return bookingService.getBookingById(bookingId, userId);
     }
 
     @GetMapping
     public List<BookingDto> getBookingsByBooker(@RequestHeader(USER_ID_HEADER) Long bookerId,
-                                                @RequestParam(defaultValue = "ALL") String state) {
-        return bookingService.getBookingsByBooker(bookerId, state);
+                                                @RequestParam(defaultValue = "ALL") String state,
+                                                @RequestParam(defaultValue = "0") Integer from,
+                                                @RequestParam(defaultValue = "10") Integer size,
+                                                @RequestParam(required = false) Long cursor) {
+        return bookingService.getBookingsByBooker(bookerId, state, from, size, cursor);
     }
 
     @GetMapping("/owner")
     public List<BookingDto> getBookingsByOwner(@RequestHeader(USER_ID_HEADER) Long ownerId,
-                                               @RequestParam(defaultValue = "ALL") String state) {
-        return bookingService.getBookingsByOwner(ownerId, state);
+                                               @RequestParam(defaultValue = "ALL") String state,
+                                               @RequestParam(defaultValue = "0") Integer from,
+                                               @RequestParam(defaultValue = "10") Integer size,
+                                               @RequestParam(required = false) Long cursor) {
+        return bookingService.getBookingsByOwner(ownerId, state, from, size, cursor);
     }
 }
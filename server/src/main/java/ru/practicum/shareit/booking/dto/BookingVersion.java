@@ -0,0 +1,13 @@
+package ru.practicum.shareit.booking.dto;
+
+public interface BookingVersion {
+    Long getVersion();
+
+    Long getItemVersion();
+
+    Long getBookerVersion();
+
+    Long getItemOwnerId();
+
+    Long getBookerId();
+}
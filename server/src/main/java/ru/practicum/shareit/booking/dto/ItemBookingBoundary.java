@@ -0,0 +1,7 @@
+package ru.practicum.shareit.booking.dto;
+
+import java.time.LocalDateTime;
+
+public record ItemBookingBoundary(Long itemId, boolean next, Long bookingId, Long bookerId,
+                                  LocalDateTime start, LocalDateTime end) {
+}
@@ -1,9 +1,8 @@
 package ru.practicum.shareit.booking.mapper;
 
+import ru.practicum.shareit.booking.dto.BookingDetails;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.model.Booking;
-import ru.practicum.shareit.item.model.Item;
-import ru.practicum.shareit.user.model.User;
 
 
 public class BookingMapper {
@@ -18,10 +17,7 @@ public class BookingMapper {
         );
     }
 
-    public static BookingDto toBookingDtoWithDetails(Booking booking, User booker, Item item) {
-        BookingDto.BookerDto bookerDto = new BookingDto.BookerDto(booker.getId(), booker.getName());
-        BookingDto.ItemDto itemDto = new BookingDto.ItemDto(item.getId(), item.getName());
-
+    public static BookingDto toBookingDtoWithDetails(Booking booking, String bookerName, String itemName) {
         return new BookingDto(
                 booking.getId(),
                 booking.getStart(),
@@ -29,14 +25,27 @@ public class BookingMapper {
                 booking.getItemId(),
                 booking.getBookerId(),
                 booking.getStatus(),
-                bookerDto,
-                itemDto
+                new BookingDto.BookerDto(booking.getBookerId(), bookerName),
+                new BookingDto.ItemDto(booking.getItemId(), itemName)
+        );
+    }
+
+    public static BookingDto toBookingDto(BookingDetails details) {
+        return new BookingDto(
+                details.getId(),
+                details.getStart(),
+                details.getEnd(),
+                details.getItemId(),
+                details.getBookerId(),
+                details.getStatus(),
+                new BookingDto.BookerDto(details.getBookerId(), details.getBookerName()),
+                new BookingDto.ItemDto(details.getItemId(), details.getItemName())
         );
     }
 
     public static Booking toBooking(BookingDto bookingDto) {
         return new Booking(
-                bookingDto.getId(),
+                null,
                 bookingDto.getStart(),
                 bookingDto.getEnd(),
                 bookingDto.getItemId(),
@@ -0,0 +1,15 @@
+package ru.practicum.shareit.booking.repository;
+
+import ru.practicum.shareit.booking.dto.ItemBookingBoundary;
+import ru.practicum.shareit.booking.model.BookingStatus;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+public interface BookingBatchRepository {
+    Map<Long, Boolean> updateWaitingStatuses(Map<Long, BookingStatus> statuses);
+
+    List<ItemBookingBoundary> findLastAndNextBookings(Collection<Long> itemIds, LocalDateTime now);
+}
@@ -0,0 +1,82 @@
+package ru.practicum.shareit.booking.repository;
+
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.practicum.shareit.booking.dto.ItemBookingBoundary;
+import ru.practicum.shareit.booking.model.BookingStatus;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@RequiredArgsConstructor
+public class BookingBatchRepositoryImpl implements BookingBatchRepository {
+    private static final String UPDATE_WAITING_STATUS =
+            "UPDATE bookings SET status = ?, version = version + 1 WHERE id = ? AND status = 'WAITING'";
+    private static final String LAST_AND_NEXT_BOOKINGS = """
+            SELECT item_id, next_booking, id, booker_id, start_date, end_date FROM (
+                SELECT b.item_id, FALSE AS next_booking, b.id, b.booker_id, b.start_date, b.end_date,
+                        ROW_NUMBER() OVER (PARTITION BY b.item_id ORDER BY b.end_date DESC) AS booking_rank
+                    FROM bookings b
+                    WHERE b.item_id IN (:itemIds)
+                    AND b.end_date < :now
+                UNION ALL
+                SELECT b.item_id, TRUE AS next_booking, b.id, b.booker_id, b.start_date, b.end_date,
+                        ROW_NUMBER() OVER (PARTITION BY b.item_id ORDER BY b.start_date ASC) AS booking_rank
+                    FROM bookings b
+                    WHERE b.item_id IN (:itemIds)
+                    AND b.start_date > :now
+                    AND b.status = 'APPROVED'
+            ) ranked
+                WHERE booking_rank = 1
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final EntityManager entityManager;
+
+    @Override
+    public Map<Long, Boolean> updateWaitingStatuses(Map<Long, BookingStatus> statuses) {
+        List<Long> ids = new ArrayList<>(statuses.keySet());
+        List<Object[]> arguments = ids.stream()
+                .map(id -> new Object[]{statuses.get(id).name(), id})
+                .toList();
+
+        int[] counts = jdbcTemplate.batchUpdate(UPDATE_WAITING_STATUS, arguments);
+
+        Map<Long, Boolean> updated = new HashMap<>();
+        for (int i = 0; i < ids.size(); i++) {
+            updated.put(ids.get(i), counts[i] != 0);
+        }
+        return updated;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<ItemBookingBoundary> findLastAndNextBookings(Collection<Long> itemIds, LocalDateTime now) {
+        if (itemIds.isEmpty()) {
+            return List.of();
+        }
+        List<Object[]> rows = entityManager.createNativeQuery(LAST_AND_NEXT_BOOKINGS)
+                .setParameter("itemIds", itemIds)
+                .setParameter("now", now)
+                .getResultList();
+        return rows.stream()
+                .map(row -> new ItemBookingBoundary(
+                        ((Number) row[0]).longValue(),
+                        (Boolean) row[1],
+                        ((Number) row[2]).longValue(),
+                        ((Number) row[3]).longValue(),
+                        toLocalDateTime(row[4]),
+                        toLocalDateTime(row[5])))
+                .toList();
+    }
+
+    private static LocalDateTime toLocalDateTime(Object value) {
+        return value instanceof Timestamp timestamp ? timestamp.toLocalDateTime() : (LocalDateTime) value;
+    }
+}
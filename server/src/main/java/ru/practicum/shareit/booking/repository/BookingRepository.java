@@ -1,34 +1,310 @@
 package ru.practicum.shareit.booking.repository;
 
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import ru.practicum.shareit.booking.dto.BookingDetails;
+import ru.practicum.shareit.booking.dto.BookingPeriod;
+import ru.practicum.shareit.booking.dto.BookingVersion;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.exception.ValidationException;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.function.Supplier;
 
 
-public interface BookingRepository extends JpaRepository<Booking, Long> {
-    List<Booking> findByBookerId(Long bookerId);
+public interface BookingRepository extends JpaRepository<Booking, Long>, BookingBatchRepository {
+    String OVERLAP_CONSTRAINT = "ex_booking_item_period";
 
-    List<Booking> findByItemIdIn(List<Long> itemIds);
+    default Booking saveAndCheckOverlap(Booking booking) {
+        return checkOverlap(() -> saveAndFlush(booking));
+    }
+
+    default <T> T checkOverlap(Supplier<T> write) {
+        try {
+            return write.get();
+        } catch (DataIntegrityViolationException e) {
+            String cause = String.valueOf(e.getMostSpecificCause().getMessage());
+            if (cause.contains(OVERLAP_CONSTRAINT)) {
+                throw new ValidationException("Вещь уже забронирована на указанный период");
+            }
+            throw e;
+        }
+    }
 
     @Query("""
-            SELECT b FROM Booking b
-                WHERE b.itemId = ?1
+            SELECT b.id AS id, b.start AS start, b.end AS end, b.status AS status,
+                   b.itemId AS itemId, i.name AS itemName, i.ownerId AS itemOwnerId,
+                   b.bookerId AS bookerId, u.name AS bookerName
+                FROM Booking b
+                JOIN Item i ON i.id = b.itemId
+                JOIN User u ON u.id = b.bookerId
+                WHERE b.id = ?1
+            """)
+    Optional<BookingDetails> findDetailsById(Long bookingId);
+
+    @Query("""
+            SELECT b.id AS id, b.start AS start, b.end AS end, b.status AS status,
+                   b.itemId AS itemId, i.name AS itemName, i.ownerId AS itemOwnerId,
+                   b.bookerId AS bookerId, u.name AS bookerName
+                FROM Booking b
+                JOIN Item i ON i.id = b.itemId
+                JOIN User u ON u.id = b.bookerId
+                WHERE b.id IN ?1
+            """)
+    List<BookingDetails> findDetailsByIdIn(Collection<Long> bookingIds);
+
+    @Query("""
+            SELECT b.version AS version, i.version AS itemVersion, u.version AS bookerVersion,
+                   i.ownerId AS itemOwnerId, b.bookerId AS bookerId
+                FROM Booking b
+                JOIN Item i ON i.id = b.itemId
+                JOIN User u ON u.id = b.bookerId
+                WHERE b.id = ?1
+            """)
+    Optional<BookingVersion> findVersionById(Long bookingId);
+
+    @Modifying
+    @Query("""
+            UPDATE Booking b SET b.status = ?2, b.version = b.version + 1
+                WHERE b.id = ?1
+                AND b.status = 'WAITING'
+                AND b.itemId IN (SELECT i.id FROM Item i WHERE i.ownerId = ?3)
+            """)
+    int updateWaitingStatusByOwner(Long bookingId, BookingStatus status, Long ownerId);
+
+    @Modifying
+    @Query("""
+            UPDATE Booking b SET b.status = 'CANCELED', b.version = b.version + 1
+                WHERE b.id = ?1
+                AND b.status = 'WAITING'
+                AND b.bookerId = ?2
+            """)
+    int cancelWaitingByBooker(Long bookingId, Long bookerId);
+
+    @Modifying
+    @Query("""
+            UPDATE Booking b SET b.status = 'EXPIRED', b.version = b.version + 1
+                WHERE b.id IN ?1
+                AND b.status = 'WAITING'
+                AND b.start <= ?2
+            """)
+    int expireWaiting(Collection<Long> bookingIds, LocalDateTime now);
+
+    @Query("SELECT b.id FROM Booking b WHERE b.id IN ?1 AND b.status = ?2")
+    List<Long> findIdsByIdInAndStatus(Collection<Long> bookingIds, BookingStatus status);
+
+    List<Booking> findAllByStatus(BookingStatus status);
+
+    @Query("SELECT b.start FROM Booking b WHERE b.id = ?1")
+    Optional<LocalDateTime> findStartById(Long bookingId);
+
+    @Query("""
+            SELECT b.id AS id, b.start AS start, b.end AS end, b.status AS status,
+                   b.itemId AS itemId, i.name AS itemName, i.ownerId AS itemOwnerId,
+                   b.bookerId AS bookerId, u.name AS bookerName
+                FROM Booking b
+                JOIN Item i ON i.id = b.itemId
+                JOIN User u ON u.id = b.bookerId
+                WHERE b.bookerId = ?1
+                AND (?2 IS NULL OR b.start < ?2 OR (b.start = ?2 AND b.id < ?3))
+                ORDER BY b.start DESC, b.id DESC
+            """)
+    List<BookingDetails> findAllByBooker(Long bookerId, LocalDateTime cursorStart, Long cursorId, Pageable page);
+
+    @Query("""
+            SELECT b.id AS id, b.start AS start, b.end AS end, b.status AS status,
+                   b.itemId AS itemId, i.name AS itemName, i.ownerId AS itemOwnerId,
+                   b.bookerId AS bookerId, u.name AS bookerName
+                FROM Booking b
+                JOIN Item i ON i.id = b.itemId
+                JOIN User u ON u.id = b.bookerId
+                WHERE b.bookerId = ?1
+                AND b.start < ?2
+                AND b.end > ?2
+                AND (?3 IS NULL OR b.start < ?3 OR (b.start = ?3 AND b.id < ?4))
+                ORDER BY b.start DESC, b.id DESC
+            """)
+    List<BookingDetails> findCurrentByBooker(Long bookerId, LocalDateTime now,
+                                             LocalDateTime cursorStart, Long cursorId, Pageable page);
+
+    @Query("""
+            SELECT b.id AS id, b.start AS start, b.end AS end, b.status AS status,
+                   b.itemId AS itemId, i.name AS itemName, i.ownerId AS itemOwnerId,
+                   b.bookerId AS bookerId, u.name AS bookerName
+                FROM Booking b
+                JOIN Item i ON i.id = b.itemId
+                JOIN User u ON u.id = b.bookerId
+                WHERE b.bookerId = ?1
                 AND b.end < ?2
-                ORDER BY b.end DESC
+                AND (?3 IS NULL OR b.start < ?3 OR (b.start = ?3 AND b.id < ?4))
+                ORDER BY b.start DESC, b.id DESC
             """)
-    List<Booking> findLastBookingForItem(Long itemId, LocalDateTime now);
+    List<BookingDetails> findPastByBooker(Long bookerId, LocalDateTime now,
+                                          LocalDateTime cursorStart, Long cursorId, Pageable page);
 
     @Query("""
-            SELECT b FROM Booking b
-                WHERE b.itemId = ?1
+            SELECT b.id AS id, b.start AS start, b.end AS end, b.status AS status,
+                   b.itemId AS itemId, i.name AS itemName, i.ownerId AS itemOwnerId,
+                   b.bookerId AS bookerId, u.name AS bookerName
+                FROM Booking b
+                JOIN Item i ON i.id = b.itemId
+                JOIN User u ON u.id = b.bookerId
+                WHERE b.bookerId = ?1
                 AND b.start > ?2
+                AND (?3 IS NULL OR b.start < ?3 OR (b.start = ?3 AND b.id < ?4))
+                ORDER BY b.start DESC, b.id DESC
+            """)
+    List<BookingDetails> findFutureByBooker(Long bookerId, LocalDateTime now,
+                                            LocalDateTime cursorStart, Long cursorId, Pageable page);
+
+    @Query("""
+            SELECT b.id AS id, b.start AS start, b.end AS end, b.status AS status,
+                   b.itemId AS itemId, i.name AS itemName, i.ownerId AS itemOwnerId,
+                   b.bookerId AS bookerId, u.name AS bookerName
+                FROM Booking b
+                JOIN Item i ON i.id = b.itemId
+                JOIN User u ON u.id = b.bookerId
+                WHERE b.bookerId = ?1
+                AND b.status = ?2
+                AND (?3 IS NULL OR b.start < ?3 OR (b.start = ?3 AND b.id < ?4))
+                ORDER BY b.start DESC, b.id DESC
+            """)
+    List<BookingDetails> findByBookerAndStatus(Long bookerId, BookingStatus status,
+                                               LocalDateTime cursorStart, Long cursorId, Pageable page);
+
+    @Query("""
+            SELECT b.id AS id, b.start AS start, b.end AS end, b.status AS status,
+                   b.itemId AS itemId, i.name AS itemName, i.ownerId AS itemOwnerId,
+                   b.bookerId AS bookerId, u.name AS bookerName
+                FROM Booking b
+                JOIN Item i ON i.id = b.itemId
+                JOIN User u ON u.id = b.bookerId
+                WHERE i.ownerId = ?1
+                AND (?2 IS NULL OR b.start < ?2 OR (b.start = ?2 AND b.id < ?3))
+                ORDER BY b.start DESC, b.id DESC
+            """)
+    List<BookingDetails> findAllByOwner(Long ownerId, LocalDateTime cursorStart, Long cursorId, Pageable page);
+
+    @Query("""
+            SELECT b.id AS id, b.start AS start, b.end AS end, b.status AS status,
+                   b.itemId AS itemId, i.name AS itemName, i.ownerId AS itemOwnerId,
+                   b.bookerId AS bookerId, u.name AS bookerName
+                FROM Booking b
+                JOIN Item i ON i.id = b.itemId
+                JOIN User u ON u.id = b.bookerId
+                WHERE i.ownerId = ?1
+                AND b.start < ?2
+                AND b.end > ?2
+                AND (?3 IS NULL OR b.start < ?3 OR (b.start = ?3 AND b.id < ?4))
+                ORDER BY b.start DESC, b.id DESC
+            """)
+    List<BookingDetails> findCurrentByOwner(Long ownerId, LocalDateTime now,
+                                            LocalDateTime cursorStart, Long cursorId, Pageable page);
+
+    @Query("""
+            SELECT b.id AS id, b.start AS start, b.end AS end, b.status AS status,
+                   b.itemId AS itemId, i.name AS itemName, i.ownerId AS itemOwnerId,
+                   b.bookerId AS bookerId, u.name AS bookerName
+                FROM Booking b
+                JOIN Item i ON i.id = b.itemId
+                JOIN User u ON u.id = b.bookerId
+                WHERE i.ownerId = ?1
+                AND b.end < ?2
+                AND (?3 IS NULL OR b.start < ?3 OR (b.start = ?3 AND b.id < ?4))
+                ORDER BY b.start DESC, b.id DESC
+            """)
+    List<BookingDetails> findPastByOwner(Long ownerId, LocalDateTime now,
+                                         LocalDateTime cursorStart, Long cursorId, Pageable page);
+
+    @Query("""
+            SELECT b.id AS id, b.start AS start, b.end AS end, b.status AS status,
+                   b.itemId AS itemId, i.name AS itemName, i.ownerId AS itemOwnerId,
+                   b.bookerId AS bookerId, u.name AS bookerName
+                FROM Booking b
+                JOIN Item i ON i.id = b.itemId
+                JOIN User u ON u.id = b.bookerId
+                WHERE i.ownerId = ?1
+                AND b.start > ?2
+                AND (?3 IS NULL OR b.start < ?3 OR (b.start = ?3 AND b.id < ?4))
+                ORDER BY b.start DESC, b.id DESC
+            """)
+    List<BookingDetails> findFutureByOwner(Long ownerId, LocalDateTime now,
+                                           LocalDateTime cursorStart, Long cursorId, Pageable page);
+
+    @Query("""
+            SELECT b.id AS id, b.start AS start, b.end AS end, b.status AS status,
+                   b.itemId AS itemId, i.name AS itemName, i.ownerId AS itemOwnerId,
+                   b.bookerId AS bookerId, u.name AS bookerName
+                FROM Booking b
+                JOIN Item i ON i.id = b.itemId
+                JOIN User u ON u.id = b.bookerId
+                WHERE i.ownerId = ?1
+                AND b.status = ?2
+                AND (?3 IS NULL OR b.start < ?3 OR (b.start = ?3 AND b.id < ?4))
+                ORDER BY b.start DESC, b.id DESC
+            """)
+    List<BookingDetails> findByOwnerAndStatus(Long ownerId, BookingStatus status,
+                                              LocalDateTime cursorStart, Long cursorId, Pageable page);
+
+    @Query("""
+            SELECT CASE WHEN COUNT(b) > 0 THEN true ELSE false END FROM Booking b
+                WHERE b.itemId = ?1
+                AND b.status IN ('WAITING', 'APPROVED')
+                AND b.start < ?3
+                AND b.end > ?2
+            """)
+    boolean existsOverlapping(Long itemId, LocalDateTime start, LocalDateTime end);
+
+    @Query("""
+            SELECT b FROM Booking b
+                WHERE b.itemId IN ?1
                 AND b.status = 'APPROVED'
+                AND b.start < ?3
+                AND b.end > ?2
+            """)
+    List<Booking> findApprovedOverlapping(Collection<Long> itemIds, LocalDateTime start, LocalDateTime end);
+
+    @Query("""
+            SELECT b.start AS start, b.end AS end FROM Booking b
+                WHERE b.itemId = ?1
+                AND b.status IN ('WAITING', 'APPROVED')
+                AND b.start < ?3
+                AND b.end > ?2
                 ORDER BY b.start ASC
             """)
-    List<Booking> findNextBookingForItem(Long itemId, LocalDateTime now);
+    List<BookingPeriod> findOccupiedPeriods(Long itemId, LocalDateTime from, LocalDateTime to);
+
+    @Query("""
+            SELECT b FROM Booking b
+                WHERE b.status IN ('WAITING', 'APPROVED')
+                AND b.end > ?1
+            """)
+    List<Booking> findActiveBookingsEndingAfter(LocalDateTime now);
+
+    Optional<Booking> findFirstByItemIdAndEndBeforeOrderByEndDesc(Long itemId, LocalDateTime now);
+
+    Optional<Booking> findFirstByItemIdAndStatusAndStartAfterOrderByStartAsc(Long itemId,
+                                                                             BookingStatus status,
+                                                                             LocalDateTime now);
+
+    @Query("""
+            SELECT MIN(b.end) FROM Booking b
+                WHERE b.itemId = ?1
+                AND b.end >= ?2
+            """)
+    Optional<LocalDateTime> findNearestEndNotBefore(Long itemId, LocalDateTime now);
+
+    @Query("""
+            SELECT DISTINCT b.itemId FROM Booking b
+            """)
+    List<Long> findBookedItemIds();
 
 
     @Query("""
@@ -40,4 +316,3 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
             """)
     List<Booking> findCompletedBookingsByBookerAndItem(Long bookerId, Long itemId, LocalDateTime now);
 }
-
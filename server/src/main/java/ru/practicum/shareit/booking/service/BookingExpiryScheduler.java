@@ -0,0 +1,93 @@
+package ru.practicum.shareit.booking.service;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.common.TransactionCallbacks;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+@Slf4j
+@Component
+public class BookingExpiryScheduler {
+    private final BookingRepository bookingRepository;
+    private final BookingIntervalIndex bookingIntervalIndex;
+    private final TimingWheel<Booking> wheel;
+    private final int batchSize;
+    private final DistributionSummary batchSizeSummary;
+
+    public BookingExpiryScheduler(BookingRepository bookingRepository,
+                                  BookingIntervalIndex bookingIntervalIndex,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${shareit.booking.expiry.tick-ms:1000}") long tickMillis,
+                                  @Value("${shareit.booking.expiry.batch-size:500}") int batchSize) {
+        this.bookingRepository = bookingRepository;
+        this.bookingIntervalIndex = bookingIntervalIndex;
+        this.wheel = new TimingWheel<>(tickMillis, System.currentTimeMillis());
+        this.batchSize = batchSize;
+        this.batchSizeSummary = DistributionSummary.builder("shareit.booking.expiry.batch.size")
+                .description("Количество бронирований, переведённых в EXPIRED одним UPDATE")
+                .register(meterRegistry);
+        Gauge.builder("shareit.booking.expiry.lag", wheel, w -> w.lagMillis(System.currentTimeMillis()))
+                .description("Отставание колеса таймеров от текущего времени")
+                .baseUnit("milliseconds")
+                .register(meterRegistry);
+        Gauge.builder("shareit.booking.expiry.pending", wheel, TimingWheel::size)
+                .description("Ожидающие бронирования в колесе таймеров")
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void seed() {
+        List<Booking> waiting = bookingRepository.findAllByStatus(BookingStatus.WAITING);
+        waiting.forEach(this::schedule);
+        log.debug("Колесо таймеров заполнено: {} бронирований WAITING", waiting.size());
+    }
+
+    public void schedule(Booking booking) {
+        TransactionCallbacks.afterCommit(() -> wheel.add(booking, toMillis(booking.getStart())));
+    }
+
+    @Scheduled(fixedDelayString = "${shareit.booking.expiry.tick-ms:1000}")
+    @Transactional
+    public void expireOverdue() {
+        List<Booking> overdue = wheel.advance(System.currentTimeMillis());
+        // колесо уже отдало записи: если UPDATE не зафиксируется, они возвращаются на следующий тик
+        TransactionCallbacks.afterRollback(() -> overdue.forEach(booking ->
+                wheel.add(booking, toMillis(booking.getStart()))));
+        LocalDateTime now = LocalDateTime.now();
+        for (int from = 0; from < overdue.size(); from += batchSize) {
+            List<Booking> batch = overdue.subList(from, Math.min(from + batchSize, overdue.size()));
+            List<Long> ids = batch.stream().map(Booking::getId).toList();
+
+            int expired = bookingRepository.expireWaiting(ids, now);
+            batchSizeSummary.record(expired);
+            if (expired == 0) {
+                continue;
+            }
+
+            Set<Long> expiredIds = new HashSet<>(bookingRepository.findIdsByIdInAndStatus(ids, BookingStatus.EXPIRED));
+            batch.stream()
+                    .filter(booking -> expiredIds.contains(booking.getId()))
+                    .forEach(bookingIntervalIndex::remove);
+        }
+    }
+
+    private static long toMillis(LocalDateTime dateTime) {
+        return dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
@@ -0,0 +1,103 @@
+package ru.practicum.shareit.booking.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.booking.dto.BookingDetails;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.common.TransactionCallbacks;
+
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Непересекающиеся периоды бронирований WAITING и APPROVED по каждой вещи, упорядоченные по дате начала.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class BookingIntervalIndex {
+    private static final Comparator<Interval> BY_START = Comparator
+            .comparing(Interval::start)
+            .thenComparing(Interval::bookingId);
+
+    private final BookingRepository bookingRepository;
+    private final Map<Long, NavigableSet<Interval>> intervalsByItem = new ConcurrentHashMap<>();
+    private final Map<Long, AtomicLong> versions = new ConcurrentHashMap<>();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        intervalsByItem.clear();
+        List<Booking> bookings = bookingRepository.findActiveBookingsEndingAfter(LocalDateTime.now());
+        bookings.forEach(this::put);
+        log.debug("Индекс бронирований построен: {} периодов", bookings.size());
+    }
+
+    public boolean overlaps(Long itemId, LocalDateTime start, LocalDateTime end) {
+        NavigableSet<Interval> intervals = intervalsByItem.get(itemId);
+        if (intervals == null) {
+            return false;
+        }
+        synchronized (intervals) {
+            Interval candidate = intervals.lower(new Interval(Long.MIN_VALUE, end, end));
+            return candidate != null && candidate.end().isAfter(start);
+        }
+    }
+
+    public long version(Long itemId) {
+        AtomicLong version = versions.get(itemId);
+        return version == null ? 0 : version.get();
+    }
+
+    public void add(Booking booking) {
+        TransactionCallbacks.afterCommit(() -> put(booking));
+    }
+
+    public void remove(Booking booking) {
+        remove(booking.getItemId(), Interval.of(booking));
+    }
+
+    public void remove(BookingDetails booking) {
+        remove(booking.getItemId(), new Interval(booking.getId(), booking.getStart(), booking.getEnd()));
+    }
+
+    private void remove(Long itemId, Interval interval) {
+        TransactionCallbacks.afterCommit(() -> {
+            NavigableSet<Interval> intervals = intervalsByItem.get(itemId);
+            if (intervals != null) {
+                synchronized (intervals) {
+                    intervals.remove(interval);
+                }
+            }
+            versions.computeIfAbsent(itemId, id -> new AtomicLong()).incrementAndGet();
+        });
+    }
+
+    private void put(Booking booking) {
+        NavigableSet<Interval> intervals = intervalsByItem.computeIfAbsent(
+                booking.getItemId(), itemId -> new TreeSet<>(BY_START));
+        LocalDateTime now = LocalDateTime.now();
+        synchronized (intervals) {
+            while (!intervals.isEmpty() && intervals.first().end().isBefore(now)) {
+                intervals.pollFirst();
+            }
+            intervals.add(Interval.of(booking));
+        }
+        versions.computeIfAbsent(booking.getItemId(), id -> new AtomicLong()).incrementAndGet();
+    }
+
+    private record Interval(Long bookingId, LocalDateTime start, LocalDateTime end) {
+        static Interval of(Booking booking) {
+            return new Interval(booking.getId(), booking.getStart(), booking.getEnd());
+        }
+    }
+}
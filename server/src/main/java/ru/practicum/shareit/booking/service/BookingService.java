@@ -1,5 +1,7 @@
 package ru.practicum.shareit.booking.service;
 
+import ru.practicum.shareit.booking.dto.BookingApprovalDto;
+import ru.practicum.shareit.booking.dto.BookingApprovalResultDto;
 import ru.practicum.shareit.booking.dto.BookingDto;
 
 import java.util.List;
@@ -9,11 +11,15 @@ public interface BookingService {
 
     BookingDto approveBooking(Long bookingId, Long ownerId, boolean approved);
 
+    List<BookingApprovalResultDto> approveBookings(List<BookingApprovalDto> approvals, Long ownerId);
+
     BookingDto getBookingById(Long bookingId, Long userId);
 
+    String getBookingETag(Long bookingId, Long userId);
+
     BookingDto cancelBooking(Long bookingId, Long userId);
 
-    List<BookingDto> getBookingsByBooker(Long bookerId, String state);
+    List<BookingDto> getBookingsByBooker(Long bookerId, String state, int from, int size, Long cursor);
 
-    List<BookingDto> getBookingsByOwner(Long ownerId, String state);
+    List<BookingDto> getBookingsByOwner(Long ownerId, String state, int from, int size, Long cursor);
 }
@@ -1,28 +1,38 @@
 package ru.practicum.shareit.booking.service;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.dto.BookingApprovalDto;
+import ru.practicum.shareit.booking.dto.BookingApprovalResultDto;
+import ru.practicum.shareit.booking.dto.BookingDetails;
 import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.BookingVersion;
 import ru.practicum.shareit.booking.mapper.BookingMapper;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingState;
 import ru.practicum.shareit.booking.model.BookingStatus;
 import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.common.OffsetPageRequest;
 import ru.practicum.shareit.exception.AccessDeniedException;
 import ru.practicum.shareit.exception.EntityNotFoundException;
 import ru.practicum.shareit.exception.ValidationException;
-import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.dto.ItemAvailability;
 import ru.practicum.shareit.item.repository.ItemRepository;
-import ru.practicum.shareit.item.service.ItemService;
-import ru.practicum.shareit.item.dto.ItemDto;
-import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.item.service.ItemBookingPointers;
 import ru.practicum.shareit.user.repository.UserRepository;
 
 import java.time.LocalDateTime;
 
-import java.util.Collections;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -30,225 +40,271 @@ import java.util.stream.Collectors;
 @Transactional(readOnly = true)
 public class BookingServiceImpl implements BookingService {
     private final BookingRepository bookingRepository;
-    private final ItemService itemService;
     private final UserRepository userRepository;
     private final ItemRepository itemRepository;
+    private final BookingIntervalIndex bookingIntervalIndex;
+    private final BookingExpiryScheduler bookingExpiryScheduler;
+    private final ItemBookingPointers itemBookingPointers;
 
     @Override
     @Transactional
     public BookingDto createBooking(BookingDto bookingDto, Long bookerId) {
-        checkUserExists(bookerId);
+        String bookerName = userRepository.findNameById(bookerId)
+                .orElseThrow(() -> new EntityNotFoundException("Пользователь с ID " + bookerId + " не найден"));
 
         if (!bookingDto.getEnd().isAfter(bookingDto.getStart())) {
             throw new ValidationException("Дата окончания должна быть позже даты начала");
         }
 
+        if (bookingIntervalIndex.overlaps(bookingDto.getItemId(), bookingDto.getStart(), bookingDto.getEnd())) {
+            throw new ValidationException("Вещь уже забронирована на указанный период");
+        }
 
-        ItemDto itemDto = itemService.getItemById(bookingDto.getItemId(), bookerId);
-        if (!itemDto.getAvailable()) {
+        ItemAvailability item = itemRepository.findAvailabilityByIdForUpdate(bookingDto.getItemId())
+                .orElseThrow(() -> new EntityNotFoundException("Вещь с ID " + bookingDto.getItemId() + " не найдена"));
+        if (!item.getAvailable()) {
             throw new ValidationException("Вещь недоступна для бронирования");
         }
-
-
-        List<ItemDto> ownerItems = itemService.getItemsByOwner(bookerId);
-        boolean isOwnItem = ownerItems.stream()
-                .anyMatch(item -> item.getId().equals(bookingDto.getItemId()));
-        if (isOwnItem) {
+        if (item.getOwnerId().equals(bookerId)) {
             throw new EntityNotFoundException("Нельзя бронировать свою собственную вещь");
         }
+        if (bookingRepository.existsOverlapping(bookingDto.getItemId(), bookingDto.getStart(), bookingDto.getEnd())) {
+            throw new ValidationException("Вещь уже забронирована на указанный период");
+        }
 
         Booking booking = BookingMapper.toBooking(bookingDto);
         booking.setBookerId(bookerId);
         booking.setStatus(BookingStatus.WAITING);
-        Booking savedBooking = bookingRepository.save(booking);
-
-        User booker = userRepository.findById(bookerId)
-                .orElseThrow(() -> new EntityNotFoundException("Пользователь не найден"));
-        Item item = itemRepository.findById(bookingDto.getItemId())
-                .orElseThrow(() -> new EntityNotFoundException("Вещь не найдена"));
+        Booking savedBooking = bookingRepository.saveAndCheckOverlap(booking);
+        bookingIntervalIndex.add(savedBooking);
+        bookingExpiryScheduler.schedule(savedBooking);
+        itemBookingPointers.onBookingCreated(savedBooking);
 
-        return BookingMapper.toBookingDtoWithDetails(savedBooking, booker, item);
+        return BookingMapper.toBookingDtoWithDetails(savedBooking, bookerName, item.getName());
     }
 
     @Override
     @Transactional
     public BookingDto approveBooking(Long bookingId, Long ownerId, boolean approved) {
-
-        Booking booking = bookingRepository.findById(bookingId)
-                .orElseThrow(() -> new EntityNotFoundException("Бронирование с ID " + bookingId + " не найдено"));
-
-        Item item = itemRepository.findById(booking.getItemId())
-                .orElseThrow(() -> new EntityNotFoundException("Вещь не найдена"));
-
-        if (!item.getOwnerId().equals(ownerId)) {
-            throw new AccessDeniedException("Доступ запрещен:только владелец вещи может подтверждать бронирование");
+        BookingStatus status = approved ? BookingStatus.APPROVED : BookingStatus.REJECTED;
+        int updated = bookingRepository.checkOverlap(
+                () -> bookingRepository.updateWaitingStatusByOwner(bookingId, status, ownerId));
+
+        BookingDetails booking = findDetails(bookingId);
+        if (updated == 0) {
+            if (!booking.getItemOwnerId().equals(ownerId)) {
+                throw new AccessDeniedException("Доступ запрещен:только владелец вещи может подтверждать бронирование");
+            }
+            throw new ValidationException("Бронирование уже обработано");
         }
 
-        if (booking.getStatus() != BookingStatus.WAITING) {
-            throw new ValidationException("Бронирование уже обработано");
+        if (approved) {
+            itemBookingPointers.onBookingApproved(booking);
+        } else {
+            bookingIntervalIndex.remove(booking);
         }
+        return BookingMapper.toBookingDto(booking);
+    }
 
-        booking.setStatus(approved ? BookingStatus.APPROVED : BookingStatus.REJECTED);
-        Booking updatedBooking = bookingRepository.save(booking);
+    @Override
+    @Transactional
+    public List<BookingApprovalResultDto> approveBookings(List<BookingApprovalDto> approvals, Long ownerId) {
+        if (approvals.isEmpty()) {
+            return List.of();
+        }
 
-        User booker = userRepository.findById(updatedBooking.getBookerId())
-                .orElseThrow(() -> new EntityNotFoundException("Пользователь не найден"));
+        Map<Long, BookingDetails> bookings = bookingRepository.findDetailsByIdIn(approvals.stream()
+                        .map(BookingApprovalDto::getBookingId)
+                        .collect(Collectors.toSet()))
+                .stream()
+                .collect(Collectors.toMap(BookingDetails::getId, Function.identity()));
+
+        Map<Long, String> errors = new LinkedHashMap<>();
+        Map<Long, BookingStatus> statuses = new LinkedHashMap<>();
+        for (BookingApprovalDto approval : approvals) {
+            Long bookingId = approval.getBookingId();
+            BookingDetails booking = bookings.get(bookingId);
+            if (booking == null) {
+                errors.put(bookingId, "Бронирование с ID " + bookingId + " не найдено");
+            } else if (!booking.getItemOwnerId().equals(ownerId)) {
+                errors.put(bookingId, "Доступ запрещен:только владелец вещи может подтверждать бронирование");
+            } else if (booking.getStatus() != BookingStatus.WAITING || statuses.containsKey(bookingId)) {
+                errors.put(bookingId, "Бронирование уже обработано");
+            } else {
+                statuses.put(bookingId, Boolean.TRUE.equals(approval.getApproved())
+                        ? BookingStatus.APPROVED : BookingStatus.REJECTED);
+            }
+        }
 
-        return BookingMapper.toBookingDtoWithDetails(updatedBooking, booker, item);
+        rejectOverlappingApprovals(bookings, statuses, errors);
+
+        Map<Long, Boolean> updated = statuses.isEmpty()
+                ? Map.of()
+                : bookingRepository.checkOverlap(() -> bookingRepository.updateWaitingStatuses(statuses));
+
+        List<BookingApprovalResultDto> results = new ArrayList<>();
+        for (BookingApprovalDto approval : approvals) {
+            Long bookingId = approval.getBookingId();
+            BookingStatus status = statuses.remove(bookingId);
+            if (status == null) {
+                results.add(new BookingApprovalResultDto(bookingId, null, errors.get(bookingId)));
+            } else if (!updated.get(bookingId)) {
+                results.add(new BookingApprovalResultDto(bookingId, null, "Бронирование уже обработано"));
+            } else {
+                BookingDetails booking = bookings.get(bookingId);
+                if (status == BookingStatus.APPROVED) {
+                    itemBookingPointers.onBookingApproved(booking);
+                } else {
+                    bookingIntervalIndex.remove(booking);
+                }
+                BookingDto bookingDto = BookingMapper.toBookingDto(booking);
+                bookingDto.setStatus(status);
+                results.add(new BookingApprovalResultDto(bookingId, bookingDto, null));
+            }
+        }
+        return results;
     }
 
     @Override
     public BookingDto getBookingById(Long bookingId, Long userId) {
-        Booking booking = bookingRepository.findById(bookingId)
-                .orElseThrow(() -> new EntityNotFoundException("Бронирование с ID " + bookingId + " не найдено"));
-
+        BookingDetails booking = findDetails(bookingId);
 
-        List<ItemDto> ownerItems = itemService.getItemsByOwner(userId);
-        boolean isOwner = ownerItems.stream()
-                .anyMatch(item -> item.getId().equals(booking.getItemId()));
+        boolean isOwner = booking.getItemOwnerId().equals(userId);
         boolean isBooker = booking.getBookerId().equals(userId);
 
         if (!isOwner && !isBooker) {
             throw new AccessDeniedException("Доступ к бронированию запрещен");
         }
 
-        User booker = userRepository.findById(booking.getBookerId())
-                .orElseThrow(() -> new EntityNotFoundException("Пользователь не найден"));
-        Item item = itemRepository.findById(booking.getItemId())
-                .orElseThrow(() -> new EntityNotFoundException("Вещь не найдена"));
-
-        return BookingMapper.toBookingDtoWithDetails(booking, booker, item);
+        return BookingMapper.toBookingDto(booking);
     }
 
     @Override
-    public BookingDto cancelBooking(Long bookingId, Long userId) {
-        Booking booking = bookingRepository.findById(bookingId)
+    public String getBookingETag(Long bookingId, Long userId) {
+        BookingVersion version = bookingRepository.findVersionById(bookingId)
                 .orElseThrow(() -> new EntityNotFoundException("Бронирование с ID " + bookingId + " не найдено"));
 
-        if (!booking.getBookerId().equals(userId)) {
-            throw new EntityNotFoundException("Только автор бронирования может отменить его");
+        if (!version.getItemOwnerId().equals(userId) && !version.getBookerId().equals(userId)) {
+            throw new AccessDeniedException("Доступ к бронированию запрещен");
         }
 
-        if (booking.getStatus() != BookingStatus.WAITING) {
+        return String.format("\"booking-%d-%d-%d-%d\"", bookingId, version.getVersion(),
+                version.getItemVersion(), version.getBookerVersion());
+    }
+
+    @Override
+    @Transactional
+    public BookingDto cancelBooking(Long bookingId, Long userId) {
+        int updated = bookingRepository.cancelWaitingByBooker(bookingId, userId);
+
+        BookingDetails booking = findDetails(bookingId);
+        if (updated == 0) {
+            if (!booking.getBookerId().equals(userId)) {
+                throw new EntityNotFoundException("Только автор бронирования может отменить его");
+            }
             throw new ValidationException("Можно отменить только бронирование в статусе WAITING");
         }
 
-        booking.setStatus(BookingStatus.CANCELED);
-        Booking updatedBooking = bookingRepository.save(booking);
-
-        return BookingMapper.toBookingDto(updatedBooking);
+        bookingIntervalIndex.remove(booking);
+        return BookingMapper.toBookingDto(booking);
     }
 
     @Override
-    public List<BookingDto> getBookingsByBooker(Long bookerId, String state) {
+    public List<BookingDto> getBookingsByBooker(Long bookerId, String state, int from, int size, Long cursor) {
         checkUserExists(bookerId);
-        List<Booking> userBookings = bookingRepository.findByBookerId(bookerId).stream()
-                .filter(booking -> booking.getBookerId().equals(bookerId))
-                .sorted((b1, b2) -> b2.getStart().compareTo(b1.getStart()))
-                .collect(Collectors.toList());
+        BookingState bookingState = parseState(state);
+        LocalDateTime cursorStart = resolveCursorStart(cursor);
+        Pageable page = toPage(from, size, cursor);
+        LocalDateTime now = LocalDateTime.now();
 
-        return filterBookingsByStateWithDetails(userBookings, state);
+        List<BookingDetails> bookings = switch (bookingState) {
+            case ALL -> bookingRepository.findAllByBooker(bookerId, cursorStart, cursor, page);
+            case CURRENT -> bookingRepository.findCurrentByBooker(bookerId, now, cursorStart, cursor, page);
+            case PAST -> bookingRepository.findPastByBooker(bookerId, now, cursorStart, cursor, page);
+            case FUTURE -> bookingRepository.findFutureByBooker(bookerId, now, cursorStart, cursor, page);
+            case WAITING, REJECTED, CANCELED, EXPIRED -> bookingRepository.findByBookerAndStatus(
+                    bookerId, BookingStatus.valueOf(bookingState.name()), cursorStart, cursor, page);
+        };
+
+        return bookings.stream()
+                .map(BookingMapper::toBookingDto)
+                .collect(Collectors.toList());
     }
 
     @Override
-    public List<BookingDto> getBookingsByOwner(Long ownerId, String state) {
+    public List<BookingDto> getBookingsByOwner(Long ownerId, String state, int from, int size, Long cursor) {
         checkUserExists(ownerId);
+        BookingState bookingState = parseState(state);
+        LocalDateTime cursorStart = resolveCursorStart(cursor);
+        Pageable page = toPage(from, size, cursor);
+        LocalDateTime now = LocalDateTime.now();
 
-
-        List<ItemDto> ownerItems = itemService.getItemsByOwner(ownerId);
-        List<Long> ownerItemIds = ownerItems.stream()
-                .map(ItemDto::getId)
-                .collect(Collectors.toList());
-
-        List<Booking> ownerBookings = bookingRepository.findByItemIdIn(ownerItemIds).stream()
-                .filter(booking -> ownerItemIds.contains(booking.getItemId()))
-                .sorted((b1, b2) -> b2.getStart().compareTo(b1.getStart()))
+        List<BookingDetails> bookings = switch (bookingState) {
+            case ALL -> bookingRepository.findAllByOwner(ownerId, cursorStart, cursor, page);
+            case CURRENT -> bookingRepository.findCurrentByOwner(ownerId, now, cursorStart, cursor, page);
+            case PAST -> bookingRepository.findPastByOwner(ownerId, now, cursorStart, cursor, page);
+            case FUTURE -> bookingRepository.findFutureByOwner(ownerId, now, cursorStart, cursor, page);
+            case WAITING, REJECTED, CANCELED, EXPIRED -> bookingRepository.findByOwnerAndStatus(
+                    ownerId, BookingStatus.valueOf(bookingState.name()), cursorStart, cursor, page);
+        };
+
+        return bookings.stream()
+                .map(BookingMapper::toBookingDto)
                 .collect(Collectors.toList());
-
-        return filterBookingsByStateWithDetails(ownerBookings, state);
     }
 
-    private List<BookingDto> filterBookingsByStateWithDetails(List<Booking> bookings, String state) {
-        if (bookings.isEmpty()) {
-            return Collections.emptyList();
+    private void rejectOverlappingApprovals(Map<Long, BookingDetails> bookings, Map<Long, BookingStatus> statuses,
+                                            Map<Long, String> errors) {
+        List<BookingDetails> approvals = statuses.entrySet().stream()
+                .filter(entry -> entry.getValue() == BookingStatus.APPROVED)
+                .map(entry -> bookings.get(entry.getKey()))
+                .toList();
+        if (approvals.isEmpty()) {
+            return;
         }
 
-        Map<Long, User> usersMap = userRepository.findAllById(
-                bookings.stream().map(Booking::getBookerId).collect(Collectors.toSet())
-        ).stream().collect(Collectors.toMap(User::getId, user -> user));
+        LocalDateTime from = approvals.stream().map(BookingDetails::getStart).min(Comparator.naturalOrder()).get();
+        LocalDateTime to = approvals.stream().map(BookingDetails::getEnd).max(Comparator.naturalOrder()).get();
+        Map<Long, List<Period>> approvedByItem = new HashMap<>();
+        bookingRepository.findApprovedOverlapping(approvals.stream().map(BookingDetails::getItemId).toList(), from, to)
+                .forEach(booking -> approvedByItem.computeIfAbsent(booking.getItemId(), id -> new ArrayList<>())
+                        .add(new Period(booking.getStart(), booking.getEnd())));
+
+        for (BookingDetails booking : approvals) {
+            Period period = new Period(booking.getStart(), booking.getEnd());
+            List<Period> approved = approvedByItem.computeIfAbsent(booking.getItemId(), id -> new ArrayList<>());
+            if (approved.stream().anyMatch(period::overlaps)) {
+                statuses.remove(booking.getId());
+                errors.put(booking.getId(), "Вещь уже забронирована на указанный период");
+            } else {
+                approved.add(period);
+            }
+        }
+    }
 
-        Map<Long, Item> itemsMap = itemRepository.findAllById(
-                bookings.stream().map(Booking::getItemId).collect(Collectors.toSet())
-        ).stream().collect(Collectors.toMap(Item::getId, item -> item));
+    private BookingState parseState(String state) {
+        return BookingState.from(state)
+                .orElseThrow(() -> new ValidationException("Unknown state: " + state));
+    }
 
-        LocalDateTime now = LocalDateTime.now();
+    private BookingDetails findDetails(Long bookingId) {
+        return bookingRepository.findDetailsById(bookingId)
+                .orElseThrow(() -> new EntityNotFoundException("Бронирование с ID " + bookingId + " не найдено"));
+    }
+
+    private LocalDateTime resolveCursorStart(Long cursor) {
+        if (cursor == null) {
+            return null;
+        }
+        return bookingRepository.findStartById(cursor)
+                .orElseThrow(() -> new EntityNotFoundException("Бронирование с ID " + cursor + " не найдено"));
+    }
 
-        switch (state.toUpperCase()) {
-            case "ALL":
-                return bookings.stream()
-                        .map(booking -> BookingMapper.toBookingDtoWithDetails(
-                                booking,
-                                usersMap.get(booking.getBookerId()),
-                                itemsMap.get(booking.getItemId())))
-                        .collect(Collectors.toList());
-
-            case "CURRENT":
-                return bookings.stream()
-                        .filter(booking -> booking.getStart().isBefore(now) && booking.getEnd().isAfter(now))
-                        .map(booking -> BookingMapper.toBookingDtoWithDetails(
-                                booking,
-                                usersMap.get(booking.getBookerId()),
-                                itemsMap.get(booking.getItemId())))
-                        .collect(Collectors.toList());
-
-            case "PAST":
-                return bookings.stream()
-                        .filter(booking -> booking.getEnd().isBefore(now))
-                        .map(booking -> BookingMapper.toBookingDtoWithDetails(
-                                booking,
-                                usersMap.get(booking.getBookerId()),
-                                itemsMap.get(booking.getItemId())))
-                        .collect(Collectors.toList());
-
-            case "FUTURE":
-                return bookings.stream()
-                        .filter(booking -> booking.getStart().isAfter(now))
-                        .map(booking -> BookingMapper.toBookingDtoWithDetails(
-                                booking,
-                                usersMap.get(booking.getBookerId()),
-                                itemsMap.get(booking.getItemId())))
-                        .collect(Collectors.toList());
-
-            case "WAITING":
-                return bookings.stream()
-                        .filter(booking -> booking.getStatus() == BookingStatus.WAITING)
-                        .map(booking -> BookingMapper.toBookingDtoWithDetails(
-                                booking,
-                                usersMap.get(booking.getBookerId()),
-                                itemsMap.get(booking.getItemId())))
-                        .collect(Collectors.toList());
-
-            case "REJECTED":
-                return bookings.stream()
-                        .filter(booking -> booking.getStatus() == BookingStatus.REJECTED)
-                        .map(booking -> BookingMapper.toBookingDtoWithDetails(
-                                booking,
-                                usersMap.get(booking.getBookerId()),
-                                itemsMap.get(booking.getItemId())))
-                        .collect(Collectors.toList());
-
-            case "CANCELED":
-                return bookings.stream()
-                        .filter(booking -> booking.getStatus() == BookingStatus.CANCELED)
-                        .map(booking -> BookingMapper.toBookingDtoWithDetails(
-                                booking,
-                                usersMap.get(booking.getBookerId()),
-                                itemsMap.get(booking.getItemId())))
-                        .collect(Collectors.toList());
-
-            default:
-                throw new ValidationException("Unknown state: " + state);
+    private Pageable toPage(int from, int size, Long cursor) {
+        if (from < 0 || size <= 0) {
+            throw new ValidationException("Некорректные параметры пагинации");
         }
+        return cursor == null ? OffsetPageRequest.of(from, size) : PageRequest.of(0, size);
     }
 
     private void checkUserExists(Long userId) {
@@ -256,5 +312,10 @@ public class BookingServiceImpl implements BookingService {
             throw new EntityNotFoundException("Пользователь с ID " + userId + " не найден");
         }
     }
-}
 
+    private record Period(LocalDateTime start, LocalDateTime end) {
+        boolean overlaps(Period other) {
+            return start.isBefore(other.end) && end.isAfter(other.start);
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package ru.practicum.shareit.booking.service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Иерархическое колесо таймеров: 4 уровня по 64 слота, тик задаётся в миллисекундах.
+ * Добавление и срабатывание элемента стоят O(1), горизонт — 64^4 тиков, более далёкие
+ * сроки дожидаются своего времени в последнем слоте верхнего уровня.
+ */
+public class TimingWheel<T> {
+    private static final int LEVELS = 4;
+    private static final int SLOT_BITS = 6;
+    private static final int SLOTS = 1 << SLOT_BITS;
+    private static final int SLOT_MASK = SLOTS - 1;
+    private static final long HORIZON = 1L << (SLOT_BITS * LEVELS);
+
+    private final long tickMillis;
+    private final List<List<Entry<T>>> slots = new ArrayList<>();
+    private long currentTick;
+    private int size;
+
+    public TimingWheel(long tickMillis, long startMillis) {
+        this.tickMillis = tickMillis;
+        this.currentTick = startMillis / tickMillis;
+        for (int i = 0; i < LEVELS * SLOTS; i++) {
+            slots.add(new ArrayList<>());
+        }
+    }
+
+    public synchronized void add(T value, long deadlineMillis) {
+        size++;
+        place(new Entry<>(value, Math.max(deadlineMillis / tickMillis, currentTick + 1)));
+    }
+
+    public synchronized List<T> advance(long nowMillis) {
+        List<T> expired = new ArrayList<>();
+        long targetTick = nowMillis / tickMillis;
+        while (currentTick < targetTick) {
+            currentTick++;
+            for (int level = LEVELS - 1; level > 0; level--) {
+                if ((currentTick & ((1L << (SLOT_BITS * level)) - 1)) == 0) {
+                    cascade(level, expired);
+                }
+            }
+            cascade(0, expired);
+        }
+        size -= expired.size();
+        return expired;
+    }
+
+    public synchronized long lagMillis(long nowMillis) {
+        return Math.max(0, nowMillis - currentTick * tickMillis);
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+
+    private void cascade(int level, List<T> expired) {
+        List<Entry<T>> slot = slots.get(level * SLOTS + slotIndex(currentTick, level));
+        if (slot.isEmpty()) {
+            return;
+        }
+        List<Entry<T>> entries = new ArrayList<>(slot);
+        slot.clear();
+        for (Entry<T> entry : entries) {
+            if (!place(entry)) {
+                expired.add(entry.value());
+            }
+        }
+    }
+
+    private boolean place(Entry<T> entry) {
+        if (entry.deadlineTick() <= currentTick) {
+            return false;
+        }
+        long slotTick = Math.min(entry.deadlineTick(), currentTick + HORIZON - 1);
+        int level = 0;
+        while (level < LEVELS - 1 && slotTick - currentTick >= 1L << (SLOT_BITS * (level + 1))) {
+            level++;
+        }
+        slots.get(level * SLOTS + slotIndex(slotTick, level)).add(entry);
+        return true;
+    }
+
+    private static int slotIndex(long tick, int level) {
+        return (int) ((tick >> (SLOT_BITS * level)) & SLOT_MASK);
+    }
+
+    private record Entry<T>(T value, long deadlineTick) {
+    }
+}
@@ -1,5 +1,6 @@
 package ru.practicum.shareit.comment.mapper;
 
+import ru.practicum.shareit.comment.dto.CommentDetails;
 import ru.practicum.shareit.comment.dto.CommentDto;
 import ru.practicum.shareit.comment.dto.CommentRequestDto;
 import ru.practicum.shareit.comment.model.Comment;
@@ -15,6 +16,15 @@ public class CommentMapper {
         );
     }
 
+    public static CommentDto toCommentDto(CommentDetails comment) {
+        return new CommentDto(
+                comment.getId(),
+                comment.getText(),
+                comment.getAuthorName(),
+                comment.getCreated()
+        );
+    }
+
     public static Comment toComment(CommentRequestDto commentRequestDto, Long itemId, Long authorId) {
         return new Comment(
                 null,
@@ -1,10 +1,33 @@
 package ru.practicum.shareit.comment.repository;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import ru.practicum.shareit.comment.dto.CommentDetails;
 import ru.practicum.shareit.comment.model.Comment;
 
+import java.util.Collection;
 import java.util.List;
 
 public interface CommentRepository extends JpaRepository<Comment, Long> {
-    List<Comment> findByItemId(Long itemId);
+    @Query("""
+            SELECT c.id AS id, c.text AS text, c.itemId AS itemId, u.name AS authorName, c.created AS created
+                FROM Comment c
+                JOIN User u ON u.id = c.authorId
+                WHERE c.itemId = ?1
+                ORDER BY c.created DESC, c.id DESC
+            """)
+    List<CommentDetails> findDetailsByItemId(Long itemId, Pageable pageable);
+
+    @Query("""
+            SELECT c.id AS id, c.text AS text, c.itemId AS itemId, u.name AS authorName, c.created AS created
+                FROM Comment c
+                JOIN User u ON u.id = c.authorId
+                WHERE c.itemId IN ?1
+                ORDER BY c.created DESC, c.id DESC
+            """)
+    List<CommentDetails> findDetailsByItemIdIn(Collection<Long> itemIds);
+
+    @Query("SELECT DISTINCT c.itemId FROM Comment c WHERE c.authorId = ?1")
+    List<Long> findItemIdsByAuthorId(Long authorId);
 }
@@ -1,13 +1,20 @@
 package ru.practicum.shareit.item.controller;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import ru.practicum.shareit.comment.dto.CommentDto;
 import ru.practicum.shareit.comment.dto.CommentRequestDto;
 import ru.practicum.shareit.comment.service.CommentService;
+import ru.practicum.shareit.item.dto.AvailabilitySlotDto;
 import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemImportDto;
+import ru.practicum.shareit.item.dto.ItemImportResultDto;
+import ru.practicum.shareit.item.dto.ItemListView;
 import ru.practicum.shareit.item.service.ItemService;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @RestController
@@ -24,6 +31,12 @@ public class ItemController {
         return itemService.createItem(itemDto, ownerId);
     }
 
+    @PostMapping("/bulk")
+    public List<ItemImportResultDto> importItems(@RequestBody List<ItemImportDto> rows,
+                                                 @RequestHeader(USER_ID_HEADER) Long ownerId) {
+        return itemService.importItems(rows, ownerId);
+    }
+
     @PatchMapping("/{itemId}")
     public ItemDto updateItem(@PathVariable Long itemId,
                               @RequestBody ItemDto itemDto,
@@ -33,19 +46,51 @@ public class ItemController {
 
     @GetMapping("/{itemId}")
     public ItemDto getItemById(@PathVariable Long itemId,
-                               @RequestHeader(USER_ID_HEADER) Long userId) {
-        return itemService.getItemById(itemId, userId);
+                               @RequestHeader(USER_ID_HEADER) Long userId,
+                               @RequestParam(defaultValue = "0") Integer commentsFrom,
+                               @RequestParam(required = false) Integer commentsSize,
+                               WebRequest request) {
+        if (request.checkNotModified(itemService.getItemETag(itemId, userId))) {
+            return null;
+        }
+        return itemService.getItemById(itemId, userId, commentsFrom, commentsSize);
+    }
+
+    @GetMapping("/{itemId}/availability")
+    public List<AvailabilitySlotDto> getItemAvailability(
+            @PathVariable Long itemId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        return itemService.getItemAvailability(itemId, from, to);
     }
 
     @GetMapping
-    public List<ItemDto> getItemsByOwner(@RequestHeader(USER_ID_HEADER) Long ownerId) {
+    public List<?> getItemsByOwner(@RequestHeader(USER_ID_HEADER) Long ownerId,
+                                   @RequestParam(defaultValue = "full") String view) {
+        if (ItemListView.from(view) == ItemListView.SUMMARY) {
+            return itemService.getItemSummariesByOwner(ownerId);
+        }
         return itemService.getItemsByOwner(ownerId);
     }
 
     @GetMapping("/search")
-    public List<ItemDto> searchItems(@RequestParam String text,
-                                     @RequestHeader(USER_ID_HEADER) Long userId) {
-        return itemService.searchItems(text, userId);
+    public List<?> searchItems(@RequestParam String text,
+                               @RequestHeader(USER_ID_HEADER) Long userId,
+                               @RequestParam(defaultValue = "0") Integer from,
+                               @RequestParam(defaultValue = "10") Integer size,
+                               @RequestParam(required = false) Long cursor,
+                               @RequestParam(defaultValue = "false") boolean fuzzy,
+                               @RequestParam(defaultValue = "full") String view) {
+        if (ItemListView.from(view) == ItemListView.SUMMARY) {
+            return itemService.searchItemSummaries(text, userId, from, size, cursor, fuzzy);
+        }
+        return itemService.searchItems(text, userId, from, size, cursor, fuzzy);
+    }
+
+    @GetMapping("/suggest")
+    public List<String> suggestItemNames(@RequestParam String prefix,
+                                         @RequestParam(defaultValue = "10") Integer limit) {
+        return itemService.suggestItemNames(prefix, limit);
     }
 
     @PostMapping("/{itemId}/comment")
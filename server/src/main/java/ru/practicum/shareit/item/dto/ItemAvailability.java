@@ -0,0 +1,11 @@
+package ru.practicum.shareit.item.dto;
+
+public interface ItemAvailability {
+    Long getId();
+
+    String getName();
+
+    Long getOwnerId();
+
+    Boolean getAvailable();
+}
@@ -0,0 +1,25 @@
+package ru.practicum.shareit.item.dto;
+
+import ru.practicum.shareit.item.model.BookingPointer;
+
+import java.time.LocalDateTime;
+
+public interface ItemDetails {
+    Long getId();
+
+    String getName();
+
+    String getDescription();
+
+    Boolean getAvailable();
+
+    Long getOwnerId();
+
+    Long getRequestId();
+
+    BookingPointer getLastBooking();
+
+    BookingPointer getNextBooking();
+
+    LocalDateTime getBookingPointersRefreshAt();
+}
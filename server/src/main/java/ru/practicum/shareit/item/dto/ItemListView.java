@@ -0,0 +1,18 @@
+package ru.practicum.shareit.item.dto;
+
+import ru.practicum.shareit.exception.ValidationException;
+
+import java.util.Locale;
+
+public enum ItemListView {
+    SUMMARY,
+    FULL;
+
+    public static ItemListView from(String view) {
+        try {
+            return valueOf(view.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new ValidationException("Неизвестный вид списка: " + view);
+        }
+    }
+}
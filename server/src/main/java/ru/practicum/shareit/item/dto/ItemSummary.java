@@ -0,0 +1,11 @@
+package ru.practicum.shareit.item.dto;
+
+public interface ItemSummary {
+    Long getId();
+
+    String getName();
+
+    Boolean getAvailable();
+
+    String getSnippet();
+}
@@ -0,0 +1,19 @@
+package ru.practicum.shareit.item.dto;
+
+import java.time.LocalDateTime;
+
+public interface ItemVersion {
+    Long getVersion();
+
+    Long getOwnerId();
+
+    LocalDateTime getBookingPointersRefreshAt();
+
+    Long getLastBookingId();
+
+    Long getNextBookingId();
+
+    Long getLastCommentId();
+
+    Long getCommentAuthorsVersion();
+}
@@ -0,0 +1,11 @@
+package ru.practicum.shareit.item.dto;
+
+public interface RequestedItemDetails {
+    Long getId();
+
+    String getName();
+
+    Long getOwnerId();
+
+    Long getRequestId();
+}
@@ -0,0 +1,4 @@
+package ru.practicum.shareit.item.event;
+
+public record ItemBookingsChangedEvent(Long itemId) {
+}
@@ -1,9 +1,15 @@
 package ru.practicum.shareit.item.mapper;
 
+import ru.practicum.shareit.item.dto.ItemDetails;
 import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemImportDto;
+import ru.practicum.shareit.item.dto.ItemSummary;
+import ru.practicum.shareit.item.dto.ItemSummaryDto;
 import ru.practicum.shareit.item.model.Item;
 
 public class ItemMapper {
+    public static final int SNIPPET_LENGTH = 100;
+
     public static ItemDto toItemDto(Item item) {
         return new ItemDto(
                 item.getId(),
@@ -14,9 +20,44 @@ public class ItemMapper {
         );
     }
 
+    public static ItemDto toItemDto(ItemDetails item) {
+        return new ItemDto(
+                item.getId(),
+                item.getName(),
+                item.getDescription(),
+                item.getAvailable(),
+                item.getRequestId()
+        );
+    }
+
+    public static ItemSummaryDto toItemSummaryDto(ItemSummary item) {
+        return new ItemSummaryDto(
+                item.getId(),
+                item.getName(),
+                item.getAvailable(),
+                toSnippet(item.getSnippet())
+        );
+    }
+
+    public static ItemSummaryDto toItemSummaryDto(ItemDto itemDto) {
+        return new ItemSummaryDto(
+                itemDto.getId(),
+                itemDto.getName(),
+                itemDto.getAvailable(),
+                toSnippet(itemDto.getDescription())
+        );
+    }
+
+    private static String toSnippet(String description) {
+        if (description == null || description.length() <= SNIPPET_LENGTH) {
+            return description;
+        }
+        return description.substring(0, SNIPPET_LENGTH).stripTrailing() + "…";
+    }
+
     public static Item toItem(ItemDto itemDto, Long ownerId) {
         return new Item(
-                itemDto.getId(),
+                null,
                 itemDto.getName(),
                 itemDto.getDescription(),
                 itemDto.getAvailable(),
@@ -24,5 +65,15 @@ public class ItemMapper {
                 itemDto.getRequestId()
         );
     }
-}
 
+    public static Item toItem(ItemImportDto itemImportDto, Long ownerId) {
+        return new Item(
+                null,
+                itemImportDto.getName(),
+                itemImportDto.getDescription(),
+                itemImportDto.getAvailable(),
+                ownerId,
+                itemImportDto.getRequestId()
+        );
+    }
+}
@@ -2,8 +2,11 @@ package ru.practicum.shareit.item.model;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.DynamicUpdate;
+import org.hibernate.annotations.OptimisticLock;
 import ru.practicum.shareit.comment.model.Comment;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Getter
@@ -12,10 +15,15 @@ import java.util.List;
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
-@Table(name = "items")
+@DynamicUpdate
+@Table(name = "items", indexes = {
+        @Index(name = "idx_item_booking_refresh", columnList = "booking_pointers_refresh_at"),
+        @Index(name = "idx_item_request", columnList = "request_id")
+})
 public class Item {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "items_id_seq")
+    @SequenceGenerator(name = "items_id_seq", sequenceName = "items_id_seq", allocationSize = 50)
     private Long id;
 
     @Column(name = "name", nullable = false)
@@ -33,6 +41,34 @@ public class Item {
     @Column(name = "request_id")
     private Long requestId;
 
+    @Embedded
+    @AttributeOverrides({
+            @AttributeOverride(name = "bookingId", column = @Column(name = "last_booking_id")),
+            @AttributeOverride(name = "bookerId", column = @Column(name = "last_booking_booker_id")),
+            @AttributeOverride(name = "start", column = @Column(name = "last_booking_start")),
+            @AttributeOverride(name = "end", column = @Column(name = "last_booking_end"))
+    })
+    @OptimisticLock(excluded = true)
+    private BookingPointer lastBooking;
+
+    @Embedded
+    @AttributeOverrides({
+            @AttributeOverride(name = "bookingId", column = @Column(name = "next_booking_id")),
+            @AttributeOverride(name = "bookerId", column = @Column(name = "next_booking_booker_id")),
+            @AttributeOverride(name = "start", column = @Column(name = "next_booking_start")),
+            @AttributeOverride(name = "end", column = @Column(name = "next_booking_end"))
+    })
+    @OptimisticLock(excluded = true)
+    private BookingPointer nextBooking;
+
+    @OptimisticLock(excluded = true)
+    @Column(name = "booking_pointers_refresh_at")
+    private LocalDateTime bookingPointersRefreshAt;
+
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
+
     @OneToMany(fetch = FetchType.LAZY)
     @JoinColumn(name = "item_id")
     @ToString.Exclude
@@ -0,0 +1,9 @@
+package ru.practicum.shareit.item.repository;
+
+import ru.practicum.shareit.item.model.Item;
+
+import java.util.List;
+
+public interface ItemBatchRepository {
+    List<Item> insertAll(List<Item> items);
+}
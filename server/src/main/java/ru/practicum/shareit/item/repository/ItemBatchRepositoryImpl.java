@@ -0,0 +1,36 @@
+package ru.practicum.shareit.item.repository;
+
+import jakarta.persistence.EntityManager;
+import org.springframework.beans.factory.annotation.Value;
+import ru.practicum.shareit.item.model.Item;
+
+import java.util.List;
+
+/**
+ * Идентификаторы выдаются последовательностью items_id_seq с pooled-оптимизатором, поэтому Hibernate
+ * группирует INSERT в JDBC-пакеты (hibernate.jdbc.batch_size). Контекст очищается после каждого пакета.
+ */
+public class ItemBatchRepositoryImpl implements ItemBatchRepository {
+    private final EntityManager entityManager;
+    private final int batchSize;
+
+    public ItemBatchRepositoryImpl(EntityManager entityManager,
+                                   @Value("${shareit.item.bulk.batch-size:500}") int batchSize) {
+        this.entityManager = entityManager;
+        this.batchSize = batchSize;
+    }
+
+    @Override
+    public List<Item> insertAll(List<Item> items) {
+        for (int i = 0; i < items.size(); i++) {
+            entityManager.persist(items.get(i));
+            if ((i + 1) % batchSize == 0) {
+                entityManager.flush();
+                entityManager.clear();
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+        return items;
+    }
+}
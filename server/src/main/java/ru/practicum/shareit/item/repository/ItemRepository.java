@@ -1,24 +1,142 @@
 package ru.practicum.shareit.item.repository;
 
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import ru.practicum.shareit.item.dto.ItemAvailability;
+import ru.practicum.shareit.item.dto.ItemDetails;
+import ru.practicum.shareit.item.dto.ItemSummary;
+import ru.practicum.shareit.item.dto.ItemVersion;
+import ru.practicum.shareit.item.dto.RequestedItemDetails;
 import ru.practicum.shareit.item.model.Item;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
-public interface ItemRepository extends JpaRepository<Item, Long> {
-    List<Item> findByOwnerId(Long ownerId);
+public interface ItemRepository extends JpaRepository<Item, Long>, ItemSearchRepository, ItemBatchRepository {
+    @Query("""
+            SELECT i.id AS id, i.name AS name, i.description AS description, i.available AS available,
+                    i.ownerId AS ownerId, i.requestId AS requestId,
+                    i.lastBooking AS lastBooking, i.nextBooking AS nextBooking,
+                    i.bookingPointersRefreshAt AS bookingPointersRefreshAt
+                FROM Item i
+                WHERE i.ownerId = ?1
+                ORDER BY i.id
+            """)
+    List<ItemDetails> findDetailsByOwnerId(Long ownerId);
+
+    @Query("""
+            SELECT i.id AS id, i.name AS name, i.description AS description, i.available AS available,
+                    i.ownerId AS ownerId, i.requestId AS requestId,
+                    i.lastBooking AS lastBooking, i.nextBooking AS nextBooking,
+                    i.bookingPointersRefreshAt AS bookingPointersRefreshAt
+                FROM Item i
+                WHERE i.id = ?1
+            """)
+    Optional<ItemDetails> findDetailsById(Long itemId);
+
+    @Query("""
+            SELECT i.version AS version, i.ownerId AS ownerId,
+                    i.bookingPointersRefreshAt AS bookingPointersRefreshAt,
+                    i.lastBooking.bookingId AS lastBookingId, i.nextBooking.bookingId AS nextBookingId,
+                    (SELECT MAX(c.id) FROM Comment c WHERE c.itemId = i.id) AS lastCommentId,
+                    (SELECT SUM(u.version) FROM Comment c JOIN User u ON u.id = c.authorId
+                        WHERE c.itemId = i.id) AS commentAuthorsVersion
+                FROM Item i
+                WHERE i.id = ?1
+            """)
+    Optional<ItemVersion> findVersionById(Long itemId);
+
+    @Query("""
+            SELECT i.id AS id, i.name AS name, i.description AS description, i.available AS available,
+                    i.ownerId AS ownerId, i.requestId AS requestId,
+                    i.lastBooking AS lastBooking, i.nextBooking AS nextBooking,
+                    i.bookingPointersRefreshAt AS bookingPointersRefreshAt
+                FROM Item i
+                WHERE i.id IN ?1
+            """)
+    List<ItemDetails> findDetailsByIdIn(Collection<Long> ids);
+
+    @Query("""
+            SELECT i.id AS id, i.name AS name, i.available AS available,
+                    SUBSTRING(i.description, 1, ?2) AS snippet
+                FROM Item i
+                WHERE i.ownerId = ?1
+                ORDER BY i.id
+            """)
+    List<ItemSummary> findSummariesByOwnerId(Long ownerId, int snippetLength);
+
+    @Query("""
+            SELECT i.id AS id, i.name AS name, i.available AS available,
+                    SUBSTRING(i.description, 1, ?2) AS snippet
+                FROM Item i
+                WHERE i.id IN ?1
+            """)
+    List<ItemSummary> findSummariesByIdIn(Collection<Long> ids, int snippetLength);
+
+    @Query("""
+            SELECT i.id AS id, i.name AS name, i.ownerId AS ownerId, i.requestId AS requestId
+                FROM Item i
+                WHERE i.requestId = ?1
+                ORDER BY i.id
+            """)
+    List<RequestedItemDetails> findRequestedItemsByRequestId(Long requestId);
+
+    @Query("""
+            SELECT i.id AS id, i.name AS name, i.ownerId AS ownerId, i.requestId AS requestId
+                FROM Item i
+                WHERE i.requestId IN ?1
+                ORDER BY i.id
+            """)
+    List<RequestedItemDetails> findRequestedItemsByRequestIdIn(Collection<Long> requestIds);
 
-    List<Item> findByRequestId(Long requestId);
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    List<Item> findTop1000ByAvailableTrueAndIdGreaterThanOrderByIdAsc(Long id);
 
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("""
+            SELECT i.id AS id, i.name AS name, i.ownerId AS ownerId, i.available AS available
+                FROM Item i
+                WHERE i.id = ?1
+            """)
+    Optional<ItemAvailability> findAvailabilityByIdForUpdate(Long itemId);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
     @Query("""
             SELECT i FROM Item i
-            WHERE i.available = true
-            AND (
-                UPPER(i.name) LIKE UPPER(CONCAT('%', ?1, '%'))
-                OR
-                UPPER(i.description) LIKE UPPER(CONCAT('%', ?1, '%'))
-            )
-            """)
-    List<Item> searchAvailableByNameOrDescription(String text);
+                WHERE i.id = ?1
+            """)
+    Optional<Item> findByIdForUpdate(Long itemId);
+
+    @Query("""
+            SELECT i.id FROM Item i
+                WHERE i.bookingPointersRefreshAt <= ?1
+            """)
+    List<Long> findIdsWithBookingPointersDue(LocalDateTime now);
+
+    @Modifying
+    @Query("""
+            UPDATE Item i SET i.bookingPointersRefreshAt = ?2
+                WHERE i.id = ?1
+                AND (i.bookingPointersRefreshAt IS NULL OR i.bookingPointersRefreshAt > ?2)
+            """)
+    int advanceBookingPointersRefresh(Long itemId, LocalDateTime refreshAt);
+
+    @Modifying
+    @Query("""
+            UPDATE Item i SET i.nextBooking.bookingId = ?2,
+                    i.nextBooking.bookerId = ?3,
+                    i.nextBooking.start = ?4,
+                    i.nextBooking.end = ?5
+                WHERE i.id = ?1
+                AND (i.nextBooking.start IS NULL OR i.nextBooking.start > ?4)
+            """)
+    int offerNextBooking(Long itemId, Long bookingId, Long bookerId, LocalDateTime start, LocalDateTime end);
 }
@@ -0,0 +1,9 @@
+package ru.practicum.shareit.item.repository;
+
+import java.util.List;
+
+public interface ItemSearchRepository {
+    List<Long> searchAvailableIds(String text, int cursorRank, long cursorId, int from, int size);
+
+    List<Long> searchSimilarAvailableIds(String text, int from, int size);
+}
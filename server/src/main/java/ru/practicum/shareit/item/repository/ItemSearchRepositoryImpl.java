@@ -0,0 +1,142 @@
+package ru.practicum.shareit.item.repository;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * На PostgreSQL кандидаты отбираются по сгенерированному столбцу search_vector с GIN-индексом
+ * (schema-postgresql.sql), на остальных платформах — по подстроке. Ранг считается как в ItemSearchRank.
+ * Нечёткий поиск на PostgreSQL — операторы pg_trgm с GIN-индексами, на остальных платформах — доля
+ * триграмм запроса, найденных в названии или описании.
+ */
+public class ItemSearchRepositoryImpl implements ItemSearchRepository {
+    private static final String RANKED_SEARCH = """
+            SELECT id FROM (
+                SELECT id,
+                    CASE
+                        WHEN LOWER(name) LIKE ? ESCAPE '\\' THEN 0
+                        WHEN LOWER(name) LIKE ? ESCAPE '\\' THEN 1
+                        WHEN LOWER(description) LIKE ? ESCAPE '\\' THEN 2
+                        ELSE 3
+                    END AS search_rank
+                    FROM items
+                    WHERE %s
+            ) ranked
+                WHERE search_rank > ? OR (search_rank = ? AND id > ?)
+                ORDER BY search_rank, id
+                LIMIT ? OFFSET ?
+            """;
+    private static final String FULL_TEXT_FILTER =
+            "is_available AND search_vector @@ to_tsquery('simple', ?)";
+    private static final String SUBSTRING_FILTER =
+            "is_available = TRUE AND (LOWER(name) LIKE ? ESCAPE '\\' OR LOWER(description) LIKE ? ESCAPE '\\')";
+    private static final String SET_SIMILARITY_THRESHOLD = """
+            SELECT set_config('pg_trgm.similarity_threshold', ?, true),
+                set_config('pg_trgm.word_similarity_threshold', ?, true)
+            """;
+    private static final String SIMILARITY_SEARCH = """
+            SELECT id FROM items
+                WHERE is_available AND (LOWER(name) % ? OR ? <% LOWER(description))
+                ORDER BY GREATEST(similarity(LOWER(name), ?), word_similarity(?, LOWER(description))) DESC, id
+                LIMIT ? OFFSET ?
+            """;
+    private static final String TRIGRAM_COUNT_SEARCH = """
+            SELECT id FROM (
+                SELECT id, %s AS score
+                    FROM items
+                    WHERE is_available = TRUE
+            ) scored
+                WHERE score >= ?
+                ORDER BY score DESC, id
+                LIMIT ? OFFSET ?
+            """;
+    private static final String TRIGRAM_MATCH =
+            "CASE WHEN LOWER(name) LIKE ? ESCAPE '\\' OR LOWER(description) LIKE ? ESCAPE '\\' THEN 1 ELSE 0 END";
+    private static final int MAX_QUERY_TRIGRAMS = 16;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final boolean fullText;
+    private final double similarityThreshold;
+
+    public ItemSearchRepositoryImpl(JdbcTemplate jdbcTemplate,
+                                    @Value("${spring.sql.init.platform:}") String platform,
+                                    @Value("${shareit.item.search.fuzzy-threshold:0.3}") double similarityThreshold) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.fullText = "postgresql".equals(platform);
+        this.similarityThreshold = similarityThreshold;
+    }
+
+    @Override
+    public List<Long> searchAvailableIds(String text, int cursorRank, long cursorId, int from, int size) {
+        String query = text.toLowerCase(Locale.ROOT);
+        String prefix = escapeLike(query) + "%";
+        String contains = "%" + prefix;
+
+        List<Object> arguments = new ArrayList<>(List.of(prefix, contains, prefix));
+        String filter;
+        if (fullText) {
+            String tsQuery = toPrefixQuery(query);
+            if (tsQuery.isEmpty()) {
+                return List.of();
+            }
+            filter = FULL_TEXT_FILTER;
+            arguments.add(tsQuery);
+        } else {
+            filter = SUBSTRING_FILTER;
+            arguments.add(contains);
+            arguments.add(contains);
+        }
+        arguments.addAll(List.of(cursorRank, cursorRank, cursorId, size, from));
+
+        return jdbcTemplate.queryForList(RANKED_SEARCH.formatted(filter), Long.class, arguments.toArray());
+    }
+
+    @Override
+    public List<Long> searchSimilarAvailableIds(String text, int from, int size) {
+        String query = text.toLowerCase(Locale.ROOT);
+        if (fullText) {
+            String threshold = String.valueOf(similarityThreshold);
+            jdbcTemplate.queryForList(SET_SIMILARITY_THRESHOLD, threshold, threshold);
+            return jdbcTemplate.queryForList(SIMILARITY_SEARCH, Long.class, query, query, query, query, size, from);
+        }
+
+        List<String> patterns = Arrays.stream(trigrams(query))
+                .map(trigram -> "%" + escapeLike(trigram) + "%")
+                .toList();
+        List<Object> arguments = new ArrayList<>();
+        patterns.forEach(pattern -> arguments.addAll(List.of(pattern, pattern)));
+        arguments.addAll(List.of((int) Math.ceil(similarityThreshold * patterns.size()), size, from));
+        String score = String.join(" + ", Collections.nCopies(patterns.size(), TRIGRAM_MATCH));
+        return jdbcTemplate.queryForList(TRIGRAM_COUNT_SEARCH.formatted(score), Long.class, arguments.toArray());
+    }
+
+    private static String[] trigrams(String query) {
+        if (query.length() < 3) {
+            return new String[]{query};
+        }
+        return IntStream.rangeClosed(0, query.length() - 3)
+                .mapToObj(i -> query.substring(i, i + 3))
+                .distinct()
+                .limit(MAX_QUERY_TRIGRAMS)
+                .toArray(String[]::new);
+    }
+
+    private static String escapeLike(String text) {
+        return text.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+
+    private static String toPrefixQuery(String text) {
+        return Arrays.stream(text.split("[^\\p{L}\\p{N}]+"))
+                .filter(term -> !term.isEmpty())
+                .map(term -> term + ":*")
+                .collect(Collectors.joining(" & "));
+    }
+}
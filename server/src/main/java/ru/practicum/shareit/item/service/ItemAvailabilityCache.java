@@ -0,0 +1,58 @@
+package ru.practicum.shareit.item.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.item.dto.AvailabilitySlotDto;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Component
+public class ItemAvailabilityCache {
+    private static final int MAX_WINDOWS_PER_ITEM = 32;
+
+    private final Cache<Long, Entry> entries;
+
+    public ItemAvailabilityCache(MeterRegistry meterRegistry,
+                                 @Value("${shareit.item.availability-cache.max-size:10000}") long maxSize,
+                                 @Value("${shareit.item.availability-cache.ttl-seconds:300}") long ttlSeconds) {
+        this.entries = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, entries, "shareit.item.availability");
+    }
+
+    public Optional<List<AvailabilitySlotDto>> get(Long itemId, long version,
+                                                   LocalDateTime from, LocalDateTime to) {
+        Entry entry = entries.getIfPresent(itemId);
+        if (entry == null || entry.version() != version) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(entry.slots().get(new Window(from, to)));
+    }
+
+    public void put(Long itemId, long version, LocalDateTime from, LocalDateTime to,
+                    List<AvailabilitySlotDto> slots) {
+        Entry entry = entries.asMap().compute(itemId, (id, current) ->
+                current == null || current.version() != version || current.slots().size() >= MAX_WINDOWS_PER_ITEM
+                        ? new Entry(version, new ConcurrentHashMap<>())
+                        : current);
+        entry.slots().put(new Window(from, to), List.copyOf(slots));
+    }
+
+    private record Window(LocalDateTime from, LocalDateTime to) {
+    }
+
+    private record Entry(long version, Map<Window, List<AvailabilitySlotDto>> slots) {
+    }
+}
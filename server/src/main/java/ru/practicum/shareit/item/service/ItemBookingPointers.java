@@ -0,0 +1,123 @@
+package ru.practicum.shareit.item.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.dto.BookingDetails;
+import ru.practicum.shareit.booking.dto.ItemBookingBoundary;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.item.dto.ItemDetails;
+import ru.practicum.shareit.item.event.ItemBookingsChangedEvent;
+import ru.practicum.shareit.item.model.BookingPointer;
+import ru.practicum.shareit.item.repository.ItemRepository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Поддерживает в строках items ссылки на последнее и ближайшее бронирование.
+ * Изменения бронирований применяются условными UPDATE, а когда текущее время переходит
+ * границу booking_pointers_refresh_at, ссылки пересчитываются по таблице бронирований.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ItemBookingPointers {
+    private final ItemRepository itemRepository;
+    private final BookingRepository bookingRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void rebuild() {
+        List<Long> itemIds = bookingRepository.findBookedItemIds();
+        itemIds.forEach(this::refresh);
+        log.debug("Ссылки на бронирования пересчитаны для {} вещей", itemIds.size());
+    }
+
+    @Scheduled(fixedDelayString = "${shareit.item.booking-pointers.refresh-ms:1000}")
+    @Transactional
+    public void refreshDue() {
+        itemRepository.findIdsWithBookingPointersDue(LocalDateTime.now()).forEach(this::refresh);
+    }
+
+    public void onBookingCreated(Booking booking) {
+        itemRepository.advanceBookingPointersRefresh(booking.getItemId(), booking.getEnd());
+        eventPublisher.publishEvent(new ItemBookingsChangedEvent(booking.getItemId()));
+    }
+
+    public void onBookingApproved(BookingDetails booking) {
+        if (booking.getStart().isAfter(LocalDateTime.now())) {
+            itemRepository.offerNextBooking(booking.getItemId(), booking.getId(), booking.getBookerId(),
+                    booking.getStart(), booking.getEnd());
+            itemRepository.advanceBookingPointersRefresh(booking.getItemId(), booking.getStart());
+            eventPublisher.publishEvent(new ItemBookingsChangedEvent(booking.getItemId()));
+        }
+    }
+
+    public void refresh(Long itemId) {
+        itemRepository.findByIdForUpdate(itemId).ifPresent(item -> {
+            Pointers pointers = compute(itemId, LocalDateTime.now());
+            item.setLastBooking(pointers.last());
+            item.setNextBooking(pointers.next());
+            item.setBookingPointersRefreshAt(pointers.refreshAt());
+            eventPublisher.publishEvent(new ItemBookingsChangedEvent(itemId));
+        });
+    }
+
+    public Map<Long, Pointers> current(Collection<ItemDetails> items, LocalDateTime now) {
+        Map<Long, Pointers> pointers = new HashMap<>();
+        List<Long> dueItemIds = new ArrayList<>();
+        for (ItemDetails item : items) {
+            LocalDateTime refreshAt = item.getBookingPointersRefreshAt();
+            if (refreshAt == null || refreshAt.isAfter(now)) {
+                pointers.put(item.getId(), new Pointers(item.getLastBooking(), item.getNextBooking(), refreshAt));
+            } else {
+                dueItemIds.add(item.getId());
+                pointers.put(item.getId(), new Pointers(null, null, now));
+            }
+        }
+
+        for (ItemBookingBoundary boundary : bookingRepository.findLastAndNextBookings(dueItemIds, now)) {
+            BookingPointer pointer = new BookingPointer(boundary.bookingId(), boundary.bookerId(),
+                    boundary.start(), boundary.end());
+            pointers.computeIfPresent(boundary.itemId(), (itemId, current) -> boundary.next()
+                    ? new Pointers(current.last(), pointer, current.refreshAt())
+                    : new Pointers(pointer, current.next(), current.refreshAt()));
+        }
+        return pointers;
+    }
+
+    private Pointers compute(Long itemId, LocalDateTime now) {
+        BookingPointer last = bookingRepository.findFirstByItemIdAndEndBeforeOrderByEndDesc(itemId, now)
+                .map(ItemBookingPointers::toPointer)
+                .orElse(null);
+        BookingPointer next = bookingRepository.findFirstByItemIdAndStatusAndStartAfterOrderByStartAsc(
+                        itemId, BookingStatus.APPROVED, now)
+                .map(ItemBookingPointers::toPointer)
+                .orElse(null);
+        LocalDateTime refreshAt = bookingRepository.findNearestEndNotBefore(itemId, now).orElse(null);
+        if (next != null && (refreshAt == null || next.getStart().isBefore(refreshAt))) {
+            refreshAt = next.getStart();
+        }
+        return new Pointers(last, next, refreshAt);
+    }
+
+    private static BookingPointer toPointer(Booking booking) {
+        return new BookingPointer(booking.getId(), booking.getBookerId(), booking.getStart(), booking.getEnd());
+    }
+
+    public record Pointers(BookingPointer last, BookingPointer next, LocalDateTime refreshAt) {
+    }
+}
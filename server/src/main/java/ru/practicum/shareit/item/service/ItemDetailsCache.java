@@ -0,0 +1,103 @@
+package ru.practicum.shareit.item.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import ru.practicum.shareit.comment.dto.CommentDto;
+import ru.practicum.shareit.comment.repository.CommentRepository;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.event.ItemBookingsChangedEvent;
+import ru.practicum.shareit.item.event.ItemChangedEvent;
+import ru.practicum.shareit.user.event.UserRenamedEvent;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Кэш карточек вещей: поля вещи и страницы отзывов отдельно от ссылок на бронирования,
+ * которые видит только владелец. Вытеснение — W-TinyLFU (Caffeine), сброс — по событиям изменения вещи
+ * и переименования автора отзывов.
+ */
+@Component
+public class ItemDetailsCache {
+    private static final int MAX_COMMENT_PAGES_PER_ITEM = 16;
+
+    private final Cache<Long, ItemView> views;
+    private final Cache<Long, ItemBookingPointers.Pointers> bookings;
+    private final CommentRepository commentRepository;
+
+    public ItemDetailsCache(MeterRegistry meterRegistry, CommentRepository commentRepository,
+                            @Value("${shareit.item.details-cache.max-size:10000}") long maxSize) {
+        this.commentRepository = commentRepository;
+        this.views = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .recordStats()
+                .build();
+        this.bookings = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, views, "shareit.item.details");
+        CaffeineCacheMetrics.monitor(meterRegistry, bookings, "shareit.item.bookings");
+    }
+
+    public ItemView getView(Long itemId, Function<Long, ItemView> loader) {
+        return views.get(itemId, loader);
+    }
+
+    public ItemBookingPointers.Pointers getBookings(Long itemId, LocalDateTime now,
+                                                    Supplier<ItemBookingPointers.Pointers> loader) {
+        ItemBookingPointers.Pointers pointers = bookings.get(itemId, id -> loader.get());
+        LocalDateTime refreshAt = pointers.refreshAt();
+        if (refreshAt != null && !refreshAt.isAfter(now)) {
+            pointers = loader.get();
+            bookings.put(itemId, pointers);
+        }
+        return pointers;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onItemChanged(ItemChangedEvent event) {
+        views.invalidate(event.itemId());
+        bookings.invalidate(event.itemId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserRenamed(UserRenamedEvent event) {
+        views.invalidateAll(commentRepository.findItemIdsByAuthorId(event.userId()));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onItemBookingsChanged(ItemBookingsChangedEvent event) {
+        bookings.invalidate(event.itemId());
+    }
+
+    public record ItemView(ItemDto item, Long ownerId, Map<CommentsPage, List<CommentDto>> comments) {
+        public ItemView(ItemDto item, Long ownerId) {
+            this(item, ownerId, new ConcurrentHashMap<>());
+        }
+
+        public List<CommentDto> comments(CommentsPage page, Function<CommentsPage, List<CommentDto>> loader) {
+            List<CommentDto> cached = comments.get(page);
+            if (cached != null) {
+                return cached;
+            }
+            List<CommentDto> loaded = List.copyOf(loader.apply(page));
+            if (comments.size() < MAX_COMMENT_PAGES_PER_ITEM) {
+                comments.put(page, loaded);
+            }
+            return loaded;
+        }
+    }
+
+    public record CommentsPage(int from, Integer size) {
+    }
+}
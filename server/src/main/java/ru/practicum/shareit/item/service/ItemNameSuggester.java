@@ -0,0 +1,237 @@
+package ru.practicum.shareit.item.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.common.TransactionCallbacks;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Префиксное дерево нормализованных названий доступных вещей. В каждом узле хранится top-k
+ * продолжений по числу вещей с таким названием, поэтому подсказка — спуск по префиксу без обхода поддерева.
+ */
+@Slf4j
+@Component
+public class ItemNameSuggester {
+    private static final int REBUILD_BATCH_SIZE = 1000;
+    private static final Comparator<Suggestion> BY_POPULARITY = Comparator
+            .comparingInt(Suggestion::count).reversed()
+            .thenComparing(Suggestion::key);
+
+    private final ItemRepository itemRepository;
+    private final int topK;
+    private final Map<Long, String> namesByItem = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private Node root = new Node();
+
+    public ItemNameSuggester(ItemRepository itemRepository,
+                             @Value("${shareit.item.suggest.top-k:10}") int topK) {
+        this.itemRepository = itemRepository;
+        this.topK = topK;
+    }
+
+    public static String normalize(String text) {
+        return text.strip().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        lock.writeLock().lock();
+        try {
+            root = new Node();
+            namesByItem.clear();
+            long lastId = 0;
+            List<Item> batch;
+            do {
+                batch = itemRepository.findTop1000ByAvailableTrueAndIdGreaterThanOrderByIdAsc(lastId);
+                batch.forEach(item -> add(item.getId(), item.getName()));
+                if (!batch.isEmpty()) {
+                    lastId = batch.get(batch.size() - 1).getId();
+                }
+            } while (batch.size() == REBUILD_BATCH_SIZE);
+            log.debug("Дерево подсказок построено: {} вещей", namesByItem.size());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void put(Item item) {
+        putAll(List.of(item));
+    }
+
+    public void putAll(Collection<Item> items) {
+        Map<Long, String> changed = new HashMap<>();
+        for (Item item : items) {
+            changed.put(item.getId(), Boolean.TRUE.equals(item.getAvailable()) ? item.getName() : null);
+        }
+        TransactionCallbacks.afterCommit(() -> {
+            lock.writeLock().lock();
+            try {
+                changed.forEach((itemId, name) -> {
+                    remove(itemId);
+                    if (name != null) {
+                        add(itemId, name);
+                    }
+                });
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    public List<String> suggest(String prefix, int limit) {
+        String key = normalize(prefix);
+        if (key.isEmpty()) {
+            return List.of();
+        }
+        lock.readLock().lock();
+        try {
+            Node node = root;
+            for (int i = 0; i < key.length() && node != null; i++) {
+                node = node.child(key.charAt(i));
+            }
+            if (node == null) {
+                return List.of();
+            }
+            return Arrays.stream(node.top)
+                    .limit(limit)
+                    .map(Suggestion::name)
+                    .toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void add(Long itemId, String name) {
+        String key = normalize(name);
+        if (key.isEmpty()) {
+            return;
+        }
+        namesByItem.put(itemId, key);
+        List<Node> path = new ArrayList<>(key.length() + 1);
+        Node node = root;
+        path.add(node);
+        for (int i = 0; i < key.length(); i++) {
+            node = node.childOrCreate(key.charAt(i));
+            path.add(node);
+        }
+        if (node.count++ == 0) {
+            node.name = name.strip();
+        }
+        updateTop(path, key);
+    }
+
+    private void remove(Long itemId) {
+        String key = namesByItem.remove(itemId);
+        if (key == null) {
+            return;
+        }
+        List<Node> path = new ArrayList<>(key.length() + 1);
+        Node node = root;
+        path.add(node);
+        for (int i = 0; i < key.length(); i++) {
+            node = node.child(key.charAt(i));
+            path.add(node);
+        }
+        if (--node.count == 0) {
+            node.name = null;
+        }
+        for (int i = key.length(); i > 0; i--) {
+            Node child = path.get(i);
+            if (child.count == 0 && child.labels.length == 0) {
+                path.get(i - 1).removeChild(key.charAt(i - 1));
+            }
+        }
+        updateTop(path, key);
+    }
+
+    private void updateTop(List<Node> path, String key) {
+        for (int depth = path.size() - 1; depth >= 0; depth--) {
+            Node node = path.get(depth);
+            List<Suggestion> candidates = new ArrayList<>();
+            if (node.count > 0) {
+                candidates.add(new Suggestion(key.substring(0, depth), node.name, node.count));
+            }
+            for (Node child : node.children) {
+                candidates.addAll(Arrays.asList(child.top));
+            }
+            node.top = candidates.stream()
+                    .sorted(BY_POPULARITY)
+                    .limit(topK)
+                    .toArray(Suggestion[]::new);
+        }
+    }
+
+    private record Suggestion(String key, String name, int count) {
+    }
+
+    private static final class Node {
+        private static final char[] NO_LABELS = new char[0];
+        private static final Node[] NO_CHILDREN = new Node[0];
+        private static final Suggestion[] NO_SUGGESTIONS = new Suggestion[0];
+
+        private char[] labels = NO_LABELS;
+        private Node[] children = NO_CHILDREN;
+        private Suggestion[] top = NO_SUGGESTIONS;
+        private int count;
+        private String name;
+
+        Node child(char label) {
+            int position = Arrays.binarySearch(labels, label);
+            return position >= 0 ? children[position] : null;
+        }
+
+        Node childOrCreate(char label) {
+            int position = Arrays.binarySearch(labels, label);
+            if (position >= 0) {
+                return children[position];
+            }
+            int insertAt = -position - 1;
+            Node child = new Node();
+            labels = insert(labels, insertAt, label);
+            Node[] grown = new Node[children.length + 1];
+            System.arraycopy(children, 0, grown, 0, insertAt);
+            grown[insertAt] = child;
+            System.arraycopy(children, insertAt, grown, insertAt + 1, children.length - insertAt);
+            children = grown;
+            return child;
+        }
+
+        void removeChild(char label) {
+            int position = Arrays.binarySearch(labels, label);
+            if (position < 0) {
+                return;
+            }
+            char[] shrunkLabels = new char[labels.length - 1];
+            System.arraycopy(labels, 0, shrunkLabels, 0, position);
+            System.arraycopy(labels, position + 1, shrunkLabels, position, labels.length - position - 1);
+            Node[] shrunk = new Node[children.length - 1];
+            System.arraycopy(children, 0, shrunk, 0, position);
+            System.arraycopy(children, position + 1, shrunk, position, children.length - position - 1);
+            labels = shrunkLabels;
+            children = shrunk;
+        }
+
+        private static char[] insert(char[] array, int position, char value) {
+            char[] grown = new char[array.length + 1];
+            System.arraycopy(array, 0, grown, 0, position);
+            grown[position] = value;
+            System.arraycopy(array, position, grown, position + 1, array.length - position);
+            return grown;
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package ru.practicum.shareit.item.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.common.TransactionCallbacks;
+import ru.practicum.shareit.item.dto.ItemListView;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Кэш страниц поиска по нормализованному запросу. Записи привязаны к эпохе каталога: любое изменение
+ * названия, описания или доступности вещи увеличивает эпоху, и старые записи больше не читаются.
+ */
+@Component
+public class ItemSearchCache {
+    private final Cache<Key, List<?>> pages;
+    private final AtomicLong epoch = new AtomicLong();
+
+    public ItemSearchCache(MeterRegistry meterRegistry,
+                           @Value("${shareit.item.search-cache.max-size:10000}") long maxSize,
+                           @Value("${shareit.item.search-cache.ttl-seconds:60}") long ttlSeconds) {
+        this.pages = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, pages, "shareit.item.search");
+        Gauge.builder("shareit.item.search.epoch", epoch, AtomicLong::get)
+                .description("Эпоха каталога вещей для кэша поиска")
+                .register(meterRegistry);
+    }
+
+    public static String normalize(String text) {
+        return text.strip().toLowerCase(Locale.ROOT);
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> List<T> get(Query query, Function<String, List<T>> loader) {
+        return (List<T>) pages.get(new Key(epoch.get(), query), key -> List.copyOf(loader.apply(query.text())));
+    }
+
+    public void catalogueChanged() {
+        TransactionCallbacks.afterCommit(this::invalidate);
+    }
+
+    public void invalidate() {
+        epoch.incrementAndGet();
+    }
+
+    public record Query(String text, int from, int size, Long cursor, boolean fuzzy, ItemListView view) {
+        public Query {
+            text = normalize(text);
+        }
+    }
+
+    private record Key(long epoch, Query query) {
+    }
+}
@@ -0,0 +1,42 @@
+package ru.practicum.shareit.item.service;
+
+import ru.practicum.shareit.item.model.Item;
+
+import java.util.Locale;
+
+/**
+ * Ранг вещи в выдаче поиска: начало названия, название, начало описания, описание.
+ * Порядок совпадает с выражением search_rank в ItemSearchRepositoryImpl.
+ */
+public final class ItemSearchRank {
+    public static final int NAME_PREFIX = 0;
+    public static final int NAME = 1;
+    public static final int DESCRIPTION_PREFIX = 2;
+    public static final int DESCRIPTION = 3;
+    public static final int NO_MATCH = 4;
+
+    private ItemSearchRank() {
+    }
+
+    public static int of(Item item, String text) {
+        return of(item.getName().toLowerCase(Locale.ROOT),
+                item.getDescription().toLowerCase(Locale.ROOT),
+                text.toLowerCase(Locale.ROOT));
+    }
+
+    static int of(String name, String description, String query) {
+        if (name.startsWith(query)) {
+            return NAME_PREFIX;
+        }
+        if (name.contains(query)) {
+            return NAME;
+        }
+        if (description.startsWith(query)) {
+            return DESCRIPTION_PREFIX;
+        }
+        if (description.contains(query)) {
+            return DESCRIPTION;
+        }
+        return NO_MATCH;
+    }
+}
@@ -1,17 +1,34 @@
 package ru.practicum.shareit.item.service;
 
+import ru.practicum.shareit.item.dto.AvailabilitySlotDto;
 import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemImportDto;
+import ru.practicum.shareit.item.dto.ItemImportResultDto;
+import ru.practicum.shareit.item.dto.ItemSummaryDto;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 public interface ItemService {
     ItemDto createItem(ItemDto itemDto, Long ownerId);
 
+    List<ItemImportResultDto> importItems(List<ItemImportDto> rows, Long ownerId);
+
     ItemDto updateItem(Long itemId, ItemDto itemDto, Long ownerId);
 
-    ItemDto getItemById(Long itemId, Long userId);
+    ItemDto getItemById(Long itemId, Long userId, int commentsFrom, Integer commentsSize);
+
+    String getItemETag(Long itemId, Long userId);
 
     List<ItemDto> getItemsByOwner(Long ownerId);
 
-    List<ItemDto> searchItems(String text, Long userId);
+    List<ItemSummaryDto> getItemSummariesByOwner(Long ownerId);
+
+    List<ItemDto> searchItems(String text, Long userId, int from, int size, Long cursor, boolean fuzzy);
+
+    List<ItemSummaryDto> searchItemSummaries(String text, Long userId, int from, int size, Long cursor, boolean fuzzy);
+
+    List<String> suggestItemNames(String prefix, int limit);
+
+    List<AvailabilitySlotDto> getItemAvailability(Long itemId, LocalDateTime from, LocalDateTime to);
 }
@@ -1,25 +1,45 @@
 package ru.practicum.shareit.item.service;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.booking.dto.BookingDto;
-import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.dto.BookingPeriod;
 import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.booking.service.BookingIntervalIndex;
+import ru.practicum.shareit.comment.dto.CommentDetails;
 import ru.practicum.shareit.comment.dto.CommentDto;
-import ru.practicum.shareit.comment.model.Comment;
+import ru.practicum.shareit.comment.mapper.CommentMapper;
 import ru.practicum.shareit.comment.repository.CommentRepository;
+import ru.practicum.shareit.common.OffsetPageRequest;
 import ru.practicum.shareit.exception.EntityNotFoundException;
+import ru.practicum.shareit.exception.ValidationException;
+import ru.practicum.shareit.item.dto.AvailabilitySlotDto;
+import ru.practicum.shareit.item.dto.ItemDetails;
 import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemImportDto;
+import ru.practicum.shareit.item.dto.ItemImportResultDto;
+import ru.practicum.shareit.item.dto.ItemListView;
+import ru.practicum.shareit.item.dto.ItemSummary;
+import ru.practicum.shareit.item.dto.ItemSummaryDto;
+import ru.practicum.shareit.item.dto.ItemVersion;
+import ru.practicum.shareit.item.event.ItemChangedEvent;
 import ru.practicum.shareit.item.mapper.ItemMapper;
+import ru.practicum.shareit.item.model.BookingPointer;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.ItemRepository;
-import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.OptionalInt;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -30,6 +50,14 @@ public class ItemServiceImpl implements ItemService {
     private final UserRepository userRepository;
     private final BookingRepository bookingRepository;
     private final CommentRepository commentRepository;
+    private final BookingIntervalIndex bookingIntervalIndex;
+    private final ItemAvailabilityCache itemAvailabilityCache;
+    private final ItemBookingPointers itemBookingPointers;
+    private final ItemTrigramIndex itemTrigramIndex;
+    private final ItemNameSuggester itemNameSuggester;
+    private final ItemDetailsCache itemDetailsCache;
+    private final ItemSearchCache itemSearchCache;
+    private final ApplicationEventPublisher eventPublisher;
 
 
     @Override
@@ -39,10 +67,39 @@ public class ItemServiceImpl implements ItemService {
 
         Item item = ItemMapper.toItem(itemDto, ownerId);
         Item savedItem = itemRepository.save(item);
+        itemTrigramIndex.put(savedItem);
+        itemNameSuggester.put(savedItem);
+        if (Boolean.TRUE.equals(savedItem.getAvailable())) {
+            itemSearchCache.catalogueChanged();
+        }
 
         return ItemMapper.toItemDto(savedItem);
     }
 
+    @Override
+    @Transactional
+    public List<ItemImportResultDto> importItems(List<ItemImportDto> rows, Long ownerId) {
+        checkUserExists(ownerId);
+        if (rows.isEmpty()) {
+            return List.of();
+        }
+
+        List<Item> items = itemRepository.insertAll(rows.stream()
+                .map(row -> ItemMapper.toItem(row, ownerId))
+                .toList());
+        itemTrigramIndex.putAll(items);
+        itemNameSuggester.putAll(items);
+        if (items.stream().anyMatch(item -> Boolean.TRUE.equals(item.getAvailable()))) {
+            itemSearchCache.catalogueChanged();
+        }
+
+        List<ItemImportResultDto> results = new ArrayList<>(rows.size());
+        for (int i = 0; i < rows.size(); i++) {
+            results.add(new ItemImportResultDto(rows.get(i).getLine(), items.get(i).getId(), null));
+        }
+        return results;
+    }
+
     @Override
     @Transactional
     public ItemDto updateItem(Long itemId, ItemDto itemDto, Long ownerId) {
@@ -53,99 +110,244 @@ public class ItemServiceImpl implements ItemService {
             throw new EntityNotFoundException("Вещь с ID " + itemId + " не принадлежит пользователю " + ownerId);
         }
 
+        boolean searchableChanged = false;
         if (itemDto.getName() != null) {
+            searchableChanged |= !itemDto.getName().equals(existingItem.getName());
             existingItem.setName(itemDto.getName());
         }
 
         if (itemDto.getDescription() != null) {
+            searchableChanged |= !itemDto.getDescription().equals(existingItem.getDescription());
             existingItem.setDescription(itemDto.getDescription());
         }
 
         if (itemDto.getAvailable() != null) {
+            searchableChanged |= !itemDto.getAvailable().equals(existingItem.getAvailable());
             existingItem.setAvailable(itemDto.getAvailable());
         }
 
         Item updatedItem = itemRepository.save(existingItem);
+        if (searchableChanged) {
+            itemTrigramIndex.put(updatedItem);
+            itemNameSuggester.put(updatedItem);
+            itemSearchCache.catalogueChanged();
+        }
+        eventPublisher.publishEvent(new ItemChangedEvent(itemId));
         return ItemMapper.toItemDto(updatedItem);
     }
 
     @Override
-    public ItemDto getItemById(Long itemId, Long userId) {
-        Item item = itemRepository.findById(itemId)
+    public ItemDto getItemById(Long itemId, Long userId, int commentsFrom, Integer commentsSize) {
+        if (commentsFrom < 0 || commentsSize != null && commentsSize <= 0) {
+            throw new ValidationException("Некорректные параметры пагинации");
+        }
+        ItemDetailsCache.ItemView view = itemDetailsCache.getView(itemId, this::loadItemView);
+        ItemDto cached = view.item();
+        ItemDto itemDto = new ItemDto(cached.getId(), cached.getName(), cached.getDescription(),
+                cached.getAvailable(), cached.getRequestId());
+
+        if (view.ownerId().equals(userId)) {
+            LocalDateTime now = LocalDateTime.now();
+            ItemBookingPointers.Pointers pointers = itemDetailsCache.getBookings(itemId, now,
+                    () -> itemBookingPointers.current(List.of(findItemDetails(itemId)), now).get(itemId));
+            itemDto.setLastBooking(toBookingDto(pointers.last()));
+            itemDto.setNextBooking(toBookingDto(pointers.next()));
+        }
+
+        itemDto.setComments(view.comments(new ItemDetailsCache.CommentsPage(commentsFrom, commentsSize),
+                page -> commentRepository.findDetailsByItemId(itemId, OffsetPageRequest.of(page.from(),
+                                Objects.requireNonNullElse(page.size(), Integer.MAX_VALUE))).stream()
+                        .map(CommentMapper::toCommentDto)
+                        .collect(Collectors.toList())));
+        return itemDto;
+    }
+
+    @Override
+    public String getItemETag(Long itemId, Long userId) {
+        ItemVersion version = itemRepository.findVersionById(itemId)
                 .orElseThrow(() -> new EntityNotFoundException("Вещь с ID " + itemId + " не найдена"));
-        return enhanceItemWithAdditionalData(item, userId);
+        boolean isOwner = version.getOwnerId().equals(userId);
+        LocalDateTime refreshAt = version.getBookingPointersRefreshAt();
+        if (isOwner && refreshAt != null && !refreshAt.isAfter(LocalDateTime.now())) {
+            return null;
+        }
+        String tag = String.format("item-%d-%d-%d-%d", itemId, version.getVersion(),
+                Objects.requireNonNullElse(version.getLastCommentId(), 0L),
+                Objects.requireNonNullElse(version.getCommentAuthorsVersion(), 0L));
+        if (isOwner) {
+            // ссылки на бронирования не увеличивают версию вещи, поэтому владельцу они добавляются в тег отдельно
+            tag += String.format("-owner-%d-%d", Objects.requireNonNullElse(version.getLastBookingId(), 0L),
+                    Objects.requireNonNullElse(version.getNextBookingId(), 0L));
+        }
+        return "\"" + tag + "\"";
+    }
+
+    @Override
+    public List<ItemSummaryDto> getItemSummariesByOwner(Long ownerId) {
+        checkUserExists(ownerId);
+        return itemRepository.findSummariesByOwnerId(ownerId, ItemMapper.SNIPPET_LENGTH + 1).stream()
+                .map(ItemMapper::toItemSummaryDto)
+                .collect(Collectors.toList());
     }
 
     @Override
     public List<ItemDto> getItemsByOwner(Long ownerId) {
         checkUserExists(ownerId);
-        return itemRepository.findByOwnerId(ownerId).stream()
-                .filter(item -> item.getOwnerId().equals(ownerId))
-                .map(item -> enhanceItemWithAdditionalData(item, ownerId))
+        List<ItemDetails> items = itemRepository.findDetailsByOwnerId(ownerId);
+        if (items.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        Map<Long, ItemBookingPointers.Pointers> pointers = itemBookingPointers.current(items, LocalDateTime.now());
+        Map<Long, List<CommentDto>> comments = commentRepository
+                .findDetailsByItemIdIn(items.stream().map(ItemDetails::getId).toList()).stream()
+                .collect(Collectors.groupingBy(CommentDetails::getItemId,
+                        Collectors.mapping(CommentMapper::toCommentDto, Collectors.toList())));
+
+        return items.stream()
+                .map(item -> {
+                    ItemDto itemDto = ItemMapper.toItemDto(item);
+                    ItemBookingPointers.Pointers itemPointers = pointers.get(item.getId());
+                    itemDto.setLastBooking(toBookingDto(itemPointers.last()));
+                    itemDto.setNextBooking(toBookingDto(itemPointers.next()));
+                    itemDto.setComments(comments.getOrDefault(item.getId(), Collections.emptyList()));
+                    return itemDto;
+                })
                 .collect(Collectors.toList());
     }
 
     @Override
-    public List<ItemDto> searchItems(String text, Long userId) {
+    public List<ItemDto> searchItems(String text, Long userId, int from, int size, Long cursor, boolean fuzzy) {
+        return search(text, from, size, cursor, fuzzy, ItemListView.FULL, this::toItemDtos, Function.identity());
+    }
+
+    @Override
+    public List<ItemSummaryDto> searchItemSummaries(String text, Long userId, int from, int size, Long cursor,
+                                                    boolean fuzzy) {
+        return search(text, from, size, cursor, fuzzy, ItemListView.SUMMARY,
+                this::toItemSummaryDtos, ItemMapper::toItemSummaryDto);
+    }
+
+    private <T> List<T> search(String text, int from, int size, Long cursor, boolean fuzzy, ItemListView view,
+                               Function<List<Long>, List<T>> hydrate, Function<ItemDto, T> fromIndex) {
+        if (from < 0 || size <= 0) {
+            throw new ValidationException("Некорректные параметры пагинации");
+        }
+        if (fuzzy && cursor != null) {
+            throw new ValidationException("Нечёткий поиск не поддерживает курсор");
+        }
         if (text == null || text.isBlank()) {
             return Collections.emptyList();
         }
 
-        return itemRepository.searchAvailableByNameOrDescription(text).stream()
+        int offset = cursor == null ? from : 0;
+        ItemSearchCache.Query searchQuery = new ItemSearchCache.Query(text, offset, size, cursor, fuzzy, view);
+        return itemSearchCache.get(searchQuery, query -> {
+            if (fuzzy) {
+                return hydrate.apply(itemRepository.searchSimilarAvailableIds(query, offset, size));
+            }
+            int cursorRank = cursor == null ? ItemSearchRank.NAME_PREFIX - 1 : resolveCursorRank(cursor, query);
+            long cursorId = cursor == null ? 0 : cursor;
+            if (itemTrigramIndex.isEnabled()) {
+                return itemTrigramIndex.search(query, cursorRank, cursorId, offset, size).stream()
+                        .map(fromIndex)
+                        .collect(Collectors.toList());
+            }
+            return hydrate.apply(itemRepository.searchAvailableIds(query, cursorRank, cursorId, offset, size));
+        });
+    }
+
+    private List<ItemDto> toItemDtos(List<Long> ids) {
+        Map<Long, ItemDetails> items = itemRepository.findDetailsByIdIn(ids).stream()
+                .collect(Collectors.toMap(ItemDetails::getId, Function.identity()));
+        return ids.stream()
+                .map(items::get)
                 .map(ItemMapper::toItemDto)
                 .collect(Collectors.toList());
     }
 
-    private ItemDto enhanceItemWithAdditionalData(Item item, Long userId) {
-        ItemDto itemDto = ItemMapper.toItemDto(item);
+    private List<ItemSummaryDto> toItemSummaryDtos(List<Long> ids) {
+        Map<Long, ItemSummary> items = itemRepository.findSummariesByIdIn(ids, ItemMapper.SNIPPET_LENGTH + 1).stream()
+                .collect(Collectors.toMap(ItemSummary::getId, Function.identity()));
+        return ids.stream()
+                .map(items::get)
+                .map(ItemMapper::toItemSummaryDto)
+                .collect(Collectors.toList());
+    }
 
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public List<String> suggestItemNames(String prefix, int limit) {
+        if (limit <= 0) {
+            throw new ValidationException("Некорректное количество подсказок");
+        }
+        return itemNameSuggester.suggest(prefix, limit);
+    }
 
-        if (item.getOwnerId().equals(userId)) {
-            LocalDateTime now = LocalDateTime.now();
+    @Override
+    public List<AvailabilitySlotDto> getItemAvailability(Long itemId, LocalDateTime from, LocalDateTime to) {
+        if (!to.isAfter(from)) {
+            throw new ValidationException("Конец периода должен быть позже начала");
+        }
+        if (!itemRepository.existsById(itemId)) {
+            throw new EntityNotFoundException("Вещь с ID " + itemId + " не найдена");
+        }
 
+        long version = bookingIntervalIndex.version(itemId);
+        return itemAvailabilityCache.get(itemId, version, from, to).orElseGet(() -> {
+            List<AvailabilitySlotDto> slots = findFreeSlots(
+                    bookingRepository.findOccupiedPeriods(itemId, from, to), from, to);
+            itemAvailabilityCache.put(itemId, version, from, to, slots);
+            return slots;
+        });
+    }
 
-            List<Booking> lastBookings = bookingRepository.findLastBookingForItem(item.getId(), now);
-            if (!lastBookings.isEmpty()) {
-                Booking lastBooking = lastBookings.get(0);
-                itemDto.setLastBooking(new BookingDto(
-                        lastBooking.getId(),
-                        lastBooking.getBookerId(),
-                        lastBooking.getStart(),
-                        lastBooking.getEnd()
-                ));
+    private List<AvailabilitySlotDto> findFreeSlots(List<BookingPeriod> occupied,
+                                                    LocalDateTime from, LocalDateTime to) {
+        List<AvailabilitySlotDto> slots = new ArrayList<>();
+        LocalDateTime cursor = from;
+        for (BookingPeriod period : occupied) {
+            if (period.getStart().isAfter(cursor)) {
+                slots.add(new AvailabilitySlotDto(cursor, period.getStart()));
             }
-
-
-            List<Booking> nextBookings = bookingRepository.findNextBookingForItem(item.getId(), now);
-            if (!nextBookings.isEmpty()) {
-                Booking nextBooking = nextBookings.get(0);
-                itemDto.setNextBooking(new BookingDto(
-                        nextBooking.getId(),
-                        nextBooking.getBookerId(),
-                        nextBooking.getStart(),
-                        nextBooking.getEnd()
-                ));
+            if (period.getEnd().isAfter(cursor)) {
+                cursor = period.getEnd();
+            }
+            if (!cursor.isBefore(to)) {
+                return slots;
             }
         }
+        slots.add(new AvailabilitySlotDto(cursor, to));
+        return slots;
+    }
 
+    private ItemDetailsCache.ItemView loadItemView(Long itemId) {
+        ItemDetails item = findItemDetails(itemId);
+        return new ItemDetailsCache.ItemView(ItemMapper.toItemDto(item), item.getOwnerId());
+    }
 
-        List<Comment> comments = commentRepository.findByItemId(item.getId());
-        List<CommentDto> commentDtos = comments.stream()
-                .map(comment -> {
-                    User author = userRepository.findById(comment.getAuthorId())
-                            .orElseThrow(() -> new EntityNotFoundException("Автор комментария не найден"));
-                    return new CommentDto(
-                            comment.getId(),
-                            comment.getText(),
-                            author.getName(),
-                            comment.getCreated()
-                    );
-                })
-                .collect(Collectors.toList());
+    private ItemDetails findItemDetails(Long itemId) {
+        return itemRepository.findDetailsById(itemId)
+                .orElseThrow(() -> new EntityNotFoundException("Вещь с ID " + itemId + " не найдена"));
+    }
 
-        itemDto.setComments(commentDtos);
+    private int resolveCursorRank(Long cursor, String text) {
+        if (itemTrigramIndex.isEnabled()) {
+            OptionalInt rank = itemTrigramIndex.rank(cursor, text);
+            if (rank.isPresent()) {
+                return rank.getAsInt();
+            }
+        }
+        return itemRepository.findById(cursor)
+                .map(item -> ItemSearchRank.of(item, text))
+                .orElseThrow(() -> new EntityNotFoundException("Вещь с ID " + cursor + " не найдена"));
+    }
 
-        return itemDto;
+    private BookingDto toBookingDto(BookingPointer pointer) {
+        if (pointer == null) {
+            return null;
+        }
+        return new BookingDto(pointer.getBookingId(), pointer.getBookerId(), pointer.getStart(), pointer.getEnd());
     }
 
     private void checkUserExists(Long userId) {
@@ -0,0 +1,288 @@
+package ru.practicum.shareit.item.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.common.TransactionCallbacks;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.OptionalInt;
+import java.util.PrimitiveIterator;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Триграммный инвертированный индекс по названию и описанию доступных вещей.
+ * Списки вхождений — отсортированные массивы long, поиск пересекает их, проверяет и ранжирует
+ * кандидатов по сохранённому тексту, не обращаясь к базе.
+ */
+@Slf4j
+@Component
+public class ItemTrigramIndex {
+    private static final int REBUILD_BATCH_SIZE = 1000;
+
+    private final ItemRepository itemRepository;
+    private final boolean enabled;
+    private final NavigableMap<Long, Document> documents = new TreeMap<>();
+    private final Map<Long, PostingList> postings = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public ItemTrigramIndex(ItemRepository itemRepository,
+                            @Value("${shareit.item.search.trigram-index:true}") boolean enabled) {
+        this.itemRepository = itemRepository;
+        this.enabled = enabled;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        if (!enabled) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            documents.clear();
+            postings.clear();
+            long lastId = 0;
+            List<Item> batch;
+            do {
+                batch = itemRepository.findTop1000ByAvailableTrueAndIdGreaterThanOrderByIdAsc(lastId);
+                batch.forEach(this::index);
+                if (!batch.isEmpty()) {
+                    lastId = batch.get(batch.size() - 1).getId();
+                }
+            } while (batch.size() == REBUILD_BATCH_SIZE);
+            log.debug("Триграммный индекс вещей построен: {} вещей, {} триграмм", documents.size(), postings.size());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void put(Item item) {
+        putAll(List.of(item));
+    }
+
+    public void putAll(Collection<Item> items) {
+        if (!enabled) {
+            return;
+        }
+        Map<Long, Document> changed = new HashMap<>();
+        for (Item item : items) {
+            changed.put(item.getId(), Boolean.TRUE.equals(item.getAvailable()) ? Document.of(item) : null);
+        }
+        TransactionCallbacks.afterCommit(() -> {
+            lock.writeLock().lock();
+            try {
+                changed.forEach((itemId, document) -> {
+                    unindex(itemId);
+                    if (document != null) {
+                        index(itemId, document);
+                    }
+                });
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    public OptionalInt rank(Long itemId, String text) {
+        lock.readLock().lock();
+        try {
+            Document document = documents.get(itemId);
+            return document == null
+                    ? OptionalInt.empty()
+                    : OptionalInt.of(document.rank(text.toLowerCase(Locale.ROOT)));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public List<ItemDto> search(String text, int cursorRank, long cursorId, int from, int size) {
+        String query = text.toLowerCase(Locale.ROOT);
+        int limit = from + size;
+        List<List<ItemDto>> ranks = new ArrayList<>();
+        for (int rank = 0; rank < ItemSearchRank.NO_MATCH; rank++) {
+            ranks.add(new ArrayList<>());
+        }
+
+        lock.readLock().lock();
+        try {
+            PrimitiveIterator.OfLong candidates = query.length() < 3
+                    ? documents.keySet().stream().mapToLong(Long::longValue).iterator()
+                    : Arrays.stream(candidates(query)).iterator();
+            while (candidates.hasNext() && ranks.get(ItemSearchRank.NAME_PREFIX).size() < limit) {
+                long itemId = candidates.nextLong();
+                Document document = documents.get(itemId);
+                int rank = document.rank(query);
+                if (rank == ItemSearchRank.NO_MATCH || rank < cursorRank
+                        || (rank == cursorRank && itemId <= cursorId)) {
+                    continue;
+                }
+                List<ItemDto> items = ranks.get(rank);
+                if (items.size() < limit) {
+                    items.add(document.toItemDto(itemId));
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        return ranks.stream()
+                .flatMap(List::stream)
+                .skip(from)
+                .limit(size)
+                .toList();
+    }
+
+    private long[] candidates(String query) {
+        List<PostingList> lists = new ArrayList<>();
+        for (long trigram : trigrams(query)) {
+            PostingList list = postings.get(trigram);
+            if (list == null) {
+                return new long[0];
+            }
+            lists.add(list);
+        }
+        lists.sort(Comparator.comparingInt(PostingList::size));
+
+        long[] result = lists.get(0).toArray();
+        for (int i = 1; i < lists.size() && result.length > 0; i++) {
+            result = lists.get(i).retain(result);
+        }
+        return result;
+    }
+
+    private void index(Item item) {
+        index(item.getId(), Document.of(item));
+    }
+
+    private void index(Long itemId, Document document) {
+        documents.put(itemId, document);
+        for (long trigram : trigrams(document.text())) {
+            postings.computeIfAbsent(trigram, t -> new PostingList()).add(itemId);
+        }
+    }
+
+    private void unindex(Long itemId) {
+        Document document = documents.remove(itemId);
+        if (document == null) {
+            return;
+        }
+        for (long trigram : trigrams(document.text())) {
+            PostingList list = postings.get(trigram);
+            list.remove(itemId);
+            if (list.size() == 0) {
+                postings.remove(trigram);
+            }
+        }
+    }
+
+    private static long[] trigrams(String text) {
+        if (text.length() < 3) {
+            return new long[0];
+        }
+        long[] trigrams = new long[text.length() - 2];
+        for (int i = 0; i < trigrams.length; i++) {
+            trigrams[i] = ((long) text.charAt(i) << 32) | ((long) text.charAt(i + 1) << 16) | text.charAt(i + 2);
+        }
+        return Arrays.stream(trigrams).distinct().toArray();
+    }
+
+    private record Document(String name, String description, Long requestId,
+                            String lowerName, String lowerDescription) {
+        static Document of(Item item) {
+            return new Document(item.getName(), item.getDescription(), item.getRequestId(),
+                    item.getName().toLowerCase(Locale.ROOT), item.getDescription().toLowerCase(Locale.ROOT));
+        }
+
+        String text() {
+            return lowerName + '\n' + lowerDescription;
+        }
+
+        int rank(String query) {
+            return ItemSearchRank.of(lowerName, lowerDescription, query);
+        }
+
+        ItemDto toItemDto(Long itemId) {
+            return new ItemDto(itemId, name, description, true, requestId);
+        }
+    }
+
+    private static final class PostingList {
+        private long[] ids = new long[4];
+        private int size;
+
+        int size() {
+            return size;
+        }
+
+        void add(long id) {
+            if (size > 0 && ids[size - 1] >= id) {
+                int position = Arrays.binarySearch(ids, 0, size, id);
+                if (position >= 0) {
+                    return;
+                }
+                insert(-position - 1, id);
+                return;
+            }
+            insert(size, id);
+        }
+
+        void remove(long id) {
+            int position = Arrays.binarySearch(ids, 0, size, id);
+            if (position >= 0) {
+                System.arraycopy(ids, position + 1, ids, position, size - position - 1);
+                size--;
+            }
+        }
+
+        long[] toArray() {
+            return Arrays.copyOf(ids, size);
+        }
+
+        long[] retain(long[] candidates) {
+            long[] result = new long[candidates.length];
+            int count = 0;
+            int low = 0;
+            for (long candidate : candidates) {
+                int position = Arrays.binarySearch(ids, low, size, candidate);
+                if (position >= 0) {
+                    result[count++] = candidate;
+                    low = position + 1;
+                } else {
+                    low = -position - 1;
+                }
+                if (low >= size) {
+                    break;
+                }
+            }
+            return Arrays.copyOf(result, count);
+        }
+
+        private void insert(int position, long id) {
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+            System.arraycopy(ids, position, ids, position + 1, size - position);
+            ids[position] = id;
+            size++;
+        }
+    }
+}
@@ -2,6 +2,7 @@ package ru.practicum.shareit.request.controller;
 
 import lombok.RequiredArgsConstructor;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 import ru.practicum.shareit.request.service.ItemRequestService;
 
@@ -28,13 +29,18 @@ public class ItemRequestController {
     @GetMapping("/all")
     public List<ItemRequestDto> getAllRequests(@RequestHeader(USER_ID_HEADER) Long userId,
                                                @RequestParam(defaultValue = "0") Integer from,
-                                               @RequestParam(defaultValue = "10") Integer size) {
-        return itemRequestService.getAllRequests(userId, from, size);
+                                               @RequestParam(defaultValue = "10") Integer size,
+                                               @RequestParam(required = false) Long cursor) {
+        return itemRequestService.getAllRequests(userId, from, size, cursor);
     }
 
     @GetMapping("/{requestId}")
     public ItemRequestDto getRequestById(@PathVariable Long requestId,
-                                         @RequestHeader(USER_ID_HEADER) Long userId) {
+                                         @RequestHeader(USER_ID_HEADER) Long userId,
+                                         WebRequest request) {
+        if (request.checkNotModified(itemRequestService.getRequestETag(requestId, userId))) {
+            return null;
+        }
         return itemRequestService.getRequestById(requestId, userId);
     }
 }
@@ -1,6 +1,6 @@
 package ru.practicum.shareit.request.mapper;
 
-import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.dto.RequestedItemDetails;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 import ru.practicum.shareit.request.model.ItemRequest;
 
@@ -18,7 +18,7 @@ public class ItemRequestMapper {
         );
     }
 
-    public static ItemRequestDto toItemRequestDto(ItemRequest itemRequest, List<Item> items) {
+    public static ItemRequestDto toItemRequestDto(ItemRequest itemRequest, List<RequestedItemDetails> items) {
         List<ItemRequestDto.ItemInfo> itemInfos = Collections.emptyList(); // вместо null
         if (items != null && !items.isEmpty()) {
             itemInfos = items.stream()
@@ -43,7 +43,7 @@ public class ItemRequestMapper {
 
     public static ItemRequest toItemRequest(ItemRequestDto itemRequestDto) {
         return new ItemRequest(
-                itemRequestDto.getId(),
+                null,
                 itemRequestDto.getDescription(),
                 itemRequestDto.getRequestorId(),
                 itemRequestDto.getCreated()
@@ -12,7 +12,10 @@ import java.time.LocalDateTime;
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
-@Table(name = "requests")
+@Table(name = "requests", indexes = {
+        @Index(name = "idx_request_created", columnList = "created DESC, id DESC"),
+        @Index(name = "idx_request_requestor_created", columnList = "requestor_id, created DESC, id DESC")
+})
 public class ItemRequest {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -26,4 +29,15 @@ public class ItemRequest {
 
     @Column(name = "created", nullable = false)
     private LocalDateTime created;
+
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
+
+    public ItemRequest(Long id, String description, Long requestorId, LocalDateTime created) {
+        this.id = id;
+        this.description = description;
+        this.requestorId = requestorId;
+        this.created = created;
+    }
 }
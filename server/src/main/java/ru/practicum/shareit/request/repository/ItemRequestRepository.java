@@ -1,12 +1,40 @@
 package ru.practicum.shareit.request.repository;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import ru.practicum.shareit.request.dto.ItemRequestVersion;
 import ru.practicum.shareit.request.model.ItemRequest;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 public interface ItemRequestRepository extends JpaRepository<ItemRequest, Long> {
-    List<ItemRequest> findByRequestorId(Long requestorId);
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    List<ItemRequest> findByRequestorIdOrderByCreatedDescIdDesc(Long requestorId);
 
-    List<ItemRequest> findByRequestorIdNot(Long requestorId);
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    @Query("""
+            SELECT r FROM ItemRequest r
+                WHERE r.requestorId <> ?1
+                AND (?2 IS NULL OR r.created < ?2 OR (r.created = ?2 AND r.id < ?3))
+                ORDER BY r.created DESC, r.id DESC
+            """)
+    List<ItemRequest> findOtherUsersRequests(Long userId, LocalDateTime cursorCreated, Long cursorId, Pageable page);
+
+    @Query("SELECT r.created FROM ItemRequest r WHERE r.id = ?1")
+    Optional<LocalDateTime> findCreatedById(Long requestId);
+
+    @Query("""
+            SELECT r.version AS version, COUNT(i.id) AS itemCount, COALESCE(SUM(i.version), 0L) AS itemVersions
+                FROM ItemRequest r
+                LEFT JOIN Item i ON i.requestId = r.id
+                WHERE r.id = ?1
+                GROUP BY r.id, r.version
+            """)
+    Optional<ItemRequestVersion> findVersionById(Long requestId);
 }
@@ -9,7 +9,9 @@ public interface ItemRequestService {
 
     List<ItemRequestDto> getRequestsByRequestor(Long requestorId);
 
-    List<ItemRequestDto> getAllRequests(Long userId, int from, int size);
+    List<ItemRequestDto> getAllRequests(Long userId, int from, int size, Long cursor);
 
     ItemRequestDto getRequestById(Long requestId, Long userId);
+
+    String getRequestETag(Long requestId, Long userId);
 }
@@ -1,19 +1,25 @@
 package ru.practicum.shareit.request.service;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.common.OffsetPageRequest;
 import ru.practicum.shareit.exception.EntityNotFoundException;
-import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.exception.ValidationException;
+import ru.practicum.shareit.item.dto.RequestedItemDetails;
 import ru.practicum.shareit.item.repository.ItemRepository;
 import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
+import ru.practicum.shareit.request.dto.ItemRequestVersion;
 import ru.practicum.shareit.request.mapper.ItemRequestMapper;
 import ru.practicum.shareit.request.repository.ItemRequestRepository;
 import ru.practicum.shareit.user.repository.UserRepository;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @Service
@@ -39,29 +45,23 @@ public class ItemRequestServiceImpl implements ItemRequestService {
 
     @Override
     public List<ItemRequestDto> getRequestsByRequestor(Long requestorId) {
-        checkUserExists(requestorId);
-        return itemRequestRepository.findByRequestorId(requestorId).stream()
-                .filter(request -> request.getRequestorId().equals(requestorId))
-                .sorted((r1, r2) -> r2.getCreated().compareTo(r1.getCreated()))
-                .map(ItemRequestMapper::toItemRequestDto)
-                .collect(Collectors.toList());
+        List<ItemRequest> requests = itemRequestRepository.findByRequestorIdOrderByCreatedDescIdDesc(requestorId);
+        if (requests.isEmpty()) {
+            checkUserExists(requestorId);
+        }
+        return withItems(requests);
     }
 
     @Override
-    public List<ItemRequestDto> getAllRequests(Long userId, int from, int size) {
+    public List<ItemRequestDto> getAllRequests(Long userId, int from, int size, Long cursor) {
+        if (from < 0 || size <= 0) {
+            throw new ValidationException("Некорректные параметры пагинации");
+        }
         checkUserExists(userId);
 
-        List<ItemRequest> allRequests = itemRequestRepository.findByRequestorIdNot(userId).stream()
-                .filter(request -> !request.getRequestorId().equals(userId))
-                .sorted((r1, r2) -> r2.getCreated().compareTo(r1.getCreated()))
-                .collect(Collectors.toList());
-
-        int start = Math.min(from, allRequests.size());
-        int end = Math.min(from + size, allRequests.size());
-
-        return allRequests.subList(start, end).stream()
-                .map(ItemRequestMapper::toItemRequestDto)
-                .collect(Collectors.toList());
+        LocalDateTime cursorCreated = resolveCursorCreated(cursor);
+        Pageable page = cursor == null ? OffsetPageRequest.of(from, size) : PageRequest.of(0, size);
+        return withItems(itemRequestRepository.findOtherUsersRequests(userId, cursorCreated, cursor, page));
     }
 
     @Override
@@ -70,11 +70,40 @@ public class ItemRequestServiceImpl implements ItemRequestService {
         ItemRequest itemRequest = itemRequestRepository.findById(requestId)
                 .orElseThrow(() -> new EntityNotFoundException("Запрос с ID " + requestId + " не найден"));
 
+        List<RequestedItemDetails> items = itemRepository.findRequestedItemsByRequestId(requestId);
+        return ItemRequestMapper.toItemRequestDto(itemRequest, items);
+    }
 
-        List<Item> items = itemRepository.findByRequestId(requestId);
+    @Override
+    public String getRequestETag(Long requestId, Long userId) {
+        checkUserExists(userId);
+        ItemRequestVersion version = itemRequestRepository.findVersionById(requestId)
+                .orElseThrow(() -> new EntityNotFoundException("Запрос с ID " + requestId + " не найден"));
+        return String.format("\"request-%d-%d-%d-%d\"", requestId, version.getVersion(),
+                version.getItemCount(), version.getItemVersions());
+    }
 
+    private List<ItemRequestDto> withItems(List<ItemRequest> requests) {
+        if (requests.isEmpty()) {
+            return List.of();
+        }
+        List<Long> requestIds = requests.stream()
+                .map(ItemRequest::getId)
+                .toList();
+        Map<Long, List<RequestedItemDetails>> itemsByRequest = itemRepository
+                .findRequestedItemsByRequestIdIn(requestIds).stream()
+                .collect(Collectors.groupingBy(RequestedItemDetails::getRequestId));
+        return requests.stream()
+                .map(request -> ItemRequestMapper.toItemRequestDto(request, itemsByRequest.get(request.getId())))
+                .collect(Collectors.toList());
+    }
 
-        return ItemRequestMapper.toItemRequestDto(itemRequest, items);
+    private LocalDateTime resolveCursorCreated(Long cursor) {
+        if (cursor == null) {
+            return null;
+        }
+        return itemRequestRepository.findCreatedById(cursor)
+                .orElseThrow(() -> new EntityNotFoundException("Запрос с ID " + cursor + " не найден"));
     }
 
     private void checkUserExists(Long userId) {
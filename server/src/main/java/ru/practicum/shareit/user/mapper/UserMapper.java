@@ -9,6 +9,6 @@ public class UserMapper {
     }
 
     public static User toUser(UserDto userDto) {
-        return new User(userDto.getId(), userDto.getName(), userDto.getEmail());
+        return new User(null, userDto.getName(), userDto.getEmail());
     }
 }
@@ -0,0 +1 @@
+CREATE INDEX IF NOT EXISTS idx_booking_item_period ON bookings (item_id, start_date, end_date);
@@ -0,0 +1,23 @@
+CREATE EXTENSION IF NOT EXISTS btree_gist;
+
+ALTER TABLE bookings ADD COLUMN IF NOT EXISTS period TSRANGE
+  GENERATED ALWAYS AS (TSRANGE(start_date, end_date, '[)')) STORED;
+
+CREATE INDEX IF NOT EXISTS idx_booking_item_period ON bookings USING GIST (item_id, period);
+
+ALTER TABLE bookings DROP CONSTRAINT IF EXISTS ex_booking_item_period;
+ALTER TABLE bookings ADD CONSTRAINT ex_booking_item_period
+  EXCLUDE USING GIST (item_id WITH =, period WITH &&) WHERE (status = 'APPROVED');
+
+ALTER TABLE items ADD COLUMN IF NOT EXISTS search_vector TSVECTOR
+  GENERATED ALWAYS AS (
+    SETWEIGHT(TO_TSVECTOR('simple', name), 'A') || SETWEIGHT(TO_TSVECTOR('simple', description), 'B')
+  ) STORED;
+
+CREATE INDEX IF NOT EXISTS idx_item_search_vector ON items USING GIN (search_vector) WHERE is_available;
+
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+CREATE INDEX IF NOT EXISTS idx_item_name_trgm ON items USING GIN (LOWER(name) gin_trgm_ops) WHERE is_available;
+CREATE INDEX IF NOT EXISTS idx_item_description_trgm ON items USING GIN (LOWER(description) gin_trgm_ops)
+  WHERE is_available;
@@ -3,21 +3,37 @@ CREATE TABLE IF NOT EXISTS users (
   id BIGINT GENERATED BY DEFAULT AS IDENTITY NOT NULL,
   name VARCHAR(255) NOT NULL,
   email VARCHAR(512) NOT NULL,
+  version BIGINT NOT NULL DEFAULT 0,
   CONSTRAINT pk_user PRIMARY KEY (id),
   CONSTRAINT UQ_USER_EMAIL UNIQUE (email)
 );
 
+CREATE SEQUENCE IF NOT EXISTS items_id_seq START WITH 1 INCREMENT BY 50;
+
 CREATE TABLE IF NOT EXISTS items (
-  id BIGINT GENERATED BY DEFAULT AS IDENTITY NOT NULL,
+  id BIGINT NOT NULL,
   name VARCHAR(255) NOT NULL,
   description TEXT NOT NULL,
   is_available BOOLEAN NOT NULL,
   owner_id BIGINT NOT NULL,
   request_id BIGINT,
+  last_booking_id BIGINT,
+  last_booking_booker_id BIGINT,
+  last_booking_start TIMESTAMP WITHOUT TIME ZONE,
+  last_booking_end TIMESTAMP WITHOUT TIME ZONE,
+  next_booking_id BIGINT,
+  next_booking_booker_id BIGINT,
+  next_booking_start TIMESTAMP WITHOUT TIME ZONE,
+  next_booking_end TIMESTAMP WITHOUT TIME ZONE,
+  booking_pointers_refresh_at TIMESTAMP WITHOUT TIME ZONE,
+  version BIGINT NOT NULL DEFAULT 0,
   CONSTRAINT pk_item PRIMARY KEY (id),
   CONSTRAINT fk_item_owner FOREIGN KEY (owner_id) REFERENCES users(id)
 );
 
+CREATE INDEX IF NOT EXISTS idx_item_booking_refresh ON items (booking_pointers_refresh_at);
+CREATE INDEX IF NOT EXISTS idx_item_request ON items (request_id);
+
 CREATE TABLE IF NOT EXISTS bookings (
   id BIGINT GENERATED BY DEFAULT AS IDENTITY NOT NULL,
   start_date TIMESTAMP WITHOUT TIME ZONE NOT NULL,
@@ -25,20 +41,28 @@ CREATE TABLE IF NOT EXISTS bookings (
   item_id BIGINT NOT NULL,
   booker_id BIGINT NOT NULL,
   status VARCHAR(20) NOT NULL,
+  version BIGINT NOT NULL DEFAULT 0,
   CONSTRAINT pk_booking PRIMARY KEY (id),
   CONSTRAINT fk_booking_item FOREIGN KEY (item_id) REFERENCES items(id),
   CONSTRAINT fk_booking_booker FOREIGN KEY (booker_id) REFERENCES users(id)
 );
 
+CREATE INDEX IF NOT EXISTS idx_booking_item_start ON bookings (item_id, start_date);
+CREATE INDEX IF NOT EXISTS idx_booking_item_end ON bookings (item_id, end_date);
+
 CREATE TABLE IF NOT EXISTS requests (
   id BIGINT GENERATED BY DEFAULT AS IDENTITY NOT NULL,
   description TEXT NOT NULL,
   requestor_id BIGINT NOT NULL,
   created TIMESTAMP WITHOUT TIME ZONE NOT NULL,
+  version BIGINT NOT NULL DEFAULT 0,
   CONSTRAINT pk_request PRIMARY KEY (id),
   CONSTRAINT fk_request_requestor FOREIGN KEY (requestor_id) REFERENCES users(id)
 );
 
+CREATE INDEX IF NOT EXISTS idx_request_created ON requests (created DESC, id DESC);
+CREATE INDEX IF NOT EXISTS idx_request_requestor_created ON requests (requestor_id, created DESC, id DESC);
+
 CREATE TABLE IF NOT EXISTS comments (
   id BIGINT GENERATED BY DEFAULT AS IDENTITY NOT NULL,
   text TEXT NOT NULL,
@@ -0,0 +1,91 @@
+package ru.practicum.shareit.booking;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.exception.ValidationException;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_CLASS)
+class BookingConcurrencyIntegrationTest {
+    private static final int ATTEMPTS = 2000;
+    private static final int THREADS = 16;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    void createBooking_whenParallelRequestsForOneItem_thenAcceptedBookingsDoNotOverlap() throws Exception {
+        User owner = userRepository.save(new User(null, "Owner", "concurrent-owner@mail.com"));
+        User booker = userRepository.save(new User(null, "Booker", "concurrent-booker@mail.com"));
+        Item item = itemRepository.save(new Item(null, "Дрель", "Мощная дрель", true, owner.getId(), null));
+
+        LocalDateTime base = LocalDateTime.now().plusDays(1).truncatedTo(ChronoUnit.HOURS);
+        Random random = new Random(42);
+        AtomicInteger rejected = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        List<Future<?>> futures = new ArrayList<>();
+
+        for (int i = 0; i < ATTEMPTS; i++) {
+            LocalDateTime start = base.plusHours(random.nextInt(500));
+            LocalDateTime end = start.plusHours(1 + random.nextInt(24));
+            BookingDto request = new BookingDto(null, start, end, item.getId(), null, null);
+            futures.add(executor.submit(() -> {
+                try {
+                    bookingService.createBooking(request, booker.getId());
+                } catch (ValidationException e) {
+                    rejected.incrementAndGet();
+                }
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(1, TimeUnit.MINUTES));
+
+        List<Booking> accepted = bookingRepository.findAll().stream()
+                .filter(booking -> booking.getItemId().equals(item.getId()))
+                .sorted(Comparator.comparing(Booking::getStart))
+                .toList();
+
+        assertFalse(accepted.isEmpty());
+        assertEquals(ATTEMPTS, accepted.size() + rejected.get());
+        for (int i = 1; i < accepted.size(); i++) {
+            assertFalse(accepted.get(i).getStart().isBefore(accepted.get(i - 1).getEnd()),
+                    "Пересекаются бронирования " + accepted.get(i - 1).getId() + " и " + accepted.get(i).getId());
+        }
+    }
+}
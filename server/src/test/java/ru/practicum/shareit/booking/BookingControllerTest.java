@@ -9,6 +9,8 @@ import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import ru.practicum.shareit.booking.controller.BookingController;
+import ru.practicum.shareit.booking.dto.BookingApprovalDto;
+import ru.practicum.shareit.booking.dto.BookingApprovalResultDto;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.model.BookingStatus;
 import ru.practicum.shareit.booking.service.BookingService;
@@ -162,6 +164,29 @@ class BookingControllerTest {
                 .andExpect(jsonPath("$.status").value("APPROVED"));
     }
 
+    @Test
+    void approveBookings_whenBatchRequest_thenReturnResultPerEntry() throws Exception {
+        BookingDto approved = new BookingDto();
+        approved.setId(1L);
+        approved.setStatus(BookingStatus.APPROVED);
+
+        Mockito.when(bookingService.approveBookings(Mockito.anyList(), Mockito.eq(1L)))
+                .thenReturn(List.of(
+                        new BookingApprovalResultDto(1L, approved, null),
+                        new BookingApprovalResultDto(2L, null, "Бронирование уже обработано")));
+
+        mockMvc.perform(patch("/bookings/batch")
+                        .header("X-Sharer-User-Id", 1L)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(List.of(
+                                new BookingApprovalDto(1L, true),
+                                new BookingApprovalDto(2L, false)))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].booking.status").value("APPROVED"))
+                .andExpect(jsonPath("$[1].error").value("Бронирование уже обработано"));
+    }
+
     @Test
     void getBookingById_whenValidRequest_thenReturnOk() throws Exception {
         BookingDto responseDto = new BookingDto();
@@ -194,7 +219,8 @@ class BookingControllerTest {
 
         List<BookingDto> bookings = List.of(bookingDto);
 
-        Mockito.when(bookingService.getBookingsByBooker(Mockito.anyLong(), Mockito.anyString()))
+        Mockito.when(bookingService.getBookingsByBooker(Mockito.anyLong(), Mockito.anyString(),
+                        Mockito.anyInt(), Mockito.anyInt(), Mockito.any()))
                 .thenReturn(bookings);
 
         mockMvc.perform(get("/bookings")
@@ -219,7 +245,8 @@ class BookingControllerTest {
 
         List<BookingDto> bookings = List.of(bookingDto);
 
-        Mockito.when(bookingService.getBookingsByOwner(Mockito.anyLong(), Mockito.anyString()))
+        Mockito.when(bookingService.getBookingsByOwner(Mockito.anyLong(), Mockito.anyString(),
+                        Mockito.anyInt(), Mockito.anyInt(), Mockito.any()))
                 .thenReturn(bookings);
 
         mockMvc.perform(get("/bookings/owner")
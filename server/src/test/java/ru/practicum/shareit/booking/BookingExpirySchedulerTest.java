@@ -0,0 +1,123 @@
+package ru.practicum.shareit.booking;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.booking.service.BookingExpiryScheduler;
+import ru.practicum.shareit.booking.service.BookingIntervalIndex;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BookingExpirySchedulerTest {
+
+    @Mock
+    private BookingRepository bookingRepository;
+
+    @Mock
+    private BookingIntervalIndex bookingIntervalIndex;
+
+    private SimpleMeterRegistry meterRegistry;
+    private BookingExpiryScheduler scheduler;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        scheduler = new BookingExpiryScheduler(bookingRepository, bookingIntervalIndex, meterRegistry, 1, 2);
+    }
+
+    @Test
+    void expireOverdue_whenStartPassed_thenExpireInBatchesAndReleasePeriods() throws InterruptedException {
+        LocalDateTime now = LocalDateTime.now();
+        Booking first = booking(1L, now.minusHours(1));
+        Booking second = booking(2L, now.minusMinutes(1));
+        Booking third = booking(3L, now.minusSeconds(1));
+        Booking future = booking(4L, now.plusDays(1));
+        List.of(first, second, third, future).forEach(scheduler::schedule);
+
+        when(bookingRepository.expireWaiting(eq(List.of(1L, 2L)), any())).thenReturn(1);
+        when(bookingRepository.findIdsByIdInAndStatus(List.of(1L, 2L), BookingStatus.EXPIRED))
+                .thenReturn(List.of(1L));
+        when(bookingRepository.expireWaiting(eq(List.of(3L)), any())).thenReturn(0);
+        Thread.sleep(5);
+
+        scheduler.expireOverdue();
+
+        verify(bookingIntervalIndex).remove(first);
+        verify(bookingIntervalIndex, never()).remove(second);
+        verify(bookingRepository, never()).findIdsByIdInAndStatus(eq(List.of(3L)), any());
+        assertEquals(1.0, meterRegistry.get("shareit.booking.expiry.pending").gauge().value());
+        assertEquals(2, meterRegistry.get("shareit.booking.expiry.batch.size").summary().count());
+    }
+
+    @Test
+    void expireOverdue_whenTransactionRolledBack_thenRetryOnNextTick() throws InterruptedException {
+        Booking overdue = booking(1L, LocalDateTime.now().minusMinutes(1));
+        scheduler.schedule(overdue);
+        when(bookingRepository.expireWaiting(eq(List.of(1L)), any()))
+                .thenThrow(new DataAccessResourceFailureException("нет соединения"))
+                .thenReturn(1);
+        when(bookingRepository.findIdsByIdInAndStatus(List.of(1L), BookingStatus.EXPIRED)).thenReturn(List.of(1L));
+        Thread.sleep(5);
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            assertThrows(DataAccessResourceFailureException.class, scheduler::expireOverdue);
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        assertEquals(1.0, meterRegistry.get("shareit.booking.expiry.pending").gauge().value());
+        Thread.sleep(5);
+
+        scheduler.expireOverdue();
+
+        verify(bookingIntervalIndex).remove(overdue);
+        assertEquals(0.0, meterRegistry.get("shareit.booking.expiry.pending").gauge().value());
+    }
+
+    @Test
+    void schedule_whenTransactionRolledBack_thenNotScheduled() {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            scheduler.schedule(booking(1L, LocalDateTime.now().plusDays(1)));
+
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertEquals(0.0, meterRegistry.get("shareit.booking.expiry.pending").gauge().value());
+    }
+
+    @Test
+    void seed_whenWaitingBookingsStored_thenScheduleThem() {
+        when(bookingRepository.findAllByStatus(BookingStatus.WAITING))
+                .thenReturn(List.of(booking(1L, LocalDateTime.now().plusDays(1))));
+
+        scheduler.seed();
+
+        assertEquals(1.0, meterRegistry.get("shareit.booking.expiry.pending").gauge().value());
+    }
+
+    private Booking booking(Long id, LocalDateTime start) {
+        return new Booking(id, start, start.plusDays(1), 1L, 2L, BookingStatus.WAITING);
+    }
+}
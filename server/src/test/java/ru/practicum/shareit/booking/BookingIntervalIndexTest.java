@@ -0,0 +1,78 @@
+package ru.practicum.shareit.booking;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.booking.service.BookingIntervalIndex;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class BookingIntervalIndexTest {
+
+    @Mock
+    private BookingRepository bookingRepository;
+
+    private BookingIntervalIndex index;
+    private LocalDateTime base;
+
+    @BeforeEach
+    void setUp() {
+        index = new BookingIntervalIndex(bookingRepository);
+        base = LocalDateTime.now().plusDays(1);
+    }
+
+    @Test
+    void overlaps_whenPeriodIntersectsExistingBooking_thenTrue() {
+        index.add(booking(1L, 1L, base, base.plusDays(2)));
+
+        assertTrue(index.overlaps(1L, base.plusDays(1), base.plusDays(3)));
+        assertTrue(index.overlaps(1L, base.minusDays(1), base.plusHours(1)));
+        assertTrue(index.overlaps(1L, base.minusDays(1), base.plusDays(5)));
+    }
+
+    @Test
+    void overlaps_whenPeriodTouchesOrMissesExistingBookings_thenFalse() {
+        index.add(booking(1L, 1L, base, base.plusDays(2)));
+        index.add(booking(2L, 1L, base.plusDays(4), base.plusDays(6)));
+
+        assertFalse(index.overlaps(1L, base.plusDays(2), base.plusDays(4)));
+        assertFalse(index.overlaps(1L, base.minusDays(2), base));
+        assertFalse(index.overlaps(1L, base.plusDays(6), base.plusDays(7)));
+        assertFalse(index.overlaps(2L, base, base.plusDays(2)));
+    }
+
+    @Test
+    void remove_whenBookingReleased_thenPeriodIsFree() {
+        Booking booking = booking(1L, 1L, base, base.plusDays(2));
+        index.add(booking);
+
+        index.remove(booking);
+
+        assertFalse(index.overlaps(1L, base, base.plusDays(2)));
+    }
+
+    @Test
+    void rebuild_whenActiveBookingsStored_thenIndexRestored() {
+        when(bookingRepository.findActiveBookingsEndingAfter(any(LocalDateTime.class)))
+                .thenReturn(List.of(booking(1L, 1L, base, base.plusDays(2))));
+
+        index.rebuild();
+
+        assertTrue(index.overlaps(1L, base.plusDays(1), base.plusDays(3)));
+    }
+
+    private Booking booking(Long id, Long itemId, LocalDateTime start, LocalDateTime end) {
+        return new Booking(id, start, end, itemId, 2L, BookingStatus.WAITING);
+    }
+}
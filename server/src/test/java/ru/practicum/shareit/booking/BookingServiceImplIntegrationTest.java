@@ -0,0 +1,192 @@
+package ru.practicum.shareit.booking;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.dto.BookingApprovalDto;
+import ru.practicum.shareit.booking.dto.BookingApprovalResultDto;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.exception.AccessDeniedException;
+import ru.practicum.shareit.exception.ValidationException;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@Transactional
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+class BookingServiceImplIntegrationTest {
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private User owner;
+    private User booker;
+    private Item item;
+
+    @BeforeEach
+    void setUp() {
+        owner = userRepository.save(new User(null, "Owner", "owner@mail.com"));
+        booker = userRepository.save(new User(null, "Booker", "booker@mail.com"));
+        item = itemRepository.save(new Item(null, "Дрель", "Мощная дрель", true, owner.getId(), null));
+    }
+
+    @Test
+    void getBookingsByBooker_whenPaged_thenReturnPageOrderedByStartDesc() {
+        LocalDateTime base = LocalDateTime.now().plusDays(1);
+        for (int i = 0; i < 5; i++) {
+            bookingRepository.save(new Booking(null, base.plusDays(i * 2L), base.plusDays(i * 2L + 1),
+                    item.getId(), booker.getId(), BookingStatus.WAITING));
+        }
+
+        List<BookingDto> firstPage = bookingService.getBookingsByBooker(booker.getId(), "ALL", 0, 2, null);
+        List<BookingDto> secondPage = bookingService.getBookingsByBooker(booker.getId(), "ALL", 2, 2, null);
+
+        assertEquals(2, firstPage.size());
+        assertEquals(2, secondPage.size());
+        assertTrue(firstPage.get(0).getStart().isAfter(firstPage.get(1).getStart()));
+        assertTrue(firstPage.get(1).getStart().isAfter(secondPage.get(0).getStart()));
+        assertEquals("Booker", firstPage.get(0).getBooker().getName());
+        assertEquals("Дрель", firstPage.get(0).getItem().getName());
+    }
+
+    @Test
+    void getBookingsByBooker_whenCursorGiven_thenContinueAfterCursor() {
+        LocalDateTime base = LocalDateTime.now().plusDays(1);
+        for (int i = 0; i < 5; i++) {
+            bookingRepository.save(new Booking(null, base.plusDays(i * 2L), base.plusDays(i * 2L + 1),
+                    item.getId(), booker.getId(), BookingStatus.WAITING));
+        }
+
+        List<BookingDto> firstPage = bookingService.getBookingsByBooker(booker.getId(), "FUTURE", 0, 3, null);
+        Long cursor = firstPage.get(firstPage.size() - 1).getId();
+        List<BookingDto> nextPage = bookingService.getBookingsByBooker(booker.getId(), "FUTURE", 0, 3, cursor);
+
+        assertEquals(3, firstPage.size());
+        assertEquals(2, nextPage.size());
+        assertTrue(firstPage.get(2).getStart().isAfter(nextPage.get(0).getStart()));
+    }
+
+    @Test
+    void getBookingsByOwner_whenStateFilters_thenReturnMatchingBookingsOnly() {
+        LocalDateTime now = LocalDateTime.now();
+        bookingRepository.save(new Booking(null, now.minusDays(3), now.minusDays(2),
+                item.getId(), booker.getId(), BookingStatus.APPROVED));
+        bookingRepository.save(new Booking(null, now.minusDays(1), now.plusDays(1),
+                item.getId(), booker.getId(), BookingStatus.APPROVED));
+        bookingRepository.save(new Booking(null, now.plusDays(2), now.plusDays(3),
+                item.getId(), booker.getId(), BookingStatus.REJECTED));
+
+        assertEquals(3, bookingService.getBookingsByOwner(owner.getId(), "ALL", 0, 10, null).size());
+        assertEquals(1, bookingService.getBookingsByOwner(owner.getId(), "PAST", 0, 10, null).size());
+        assertEquals(1, bookingService.getBookingsByOwner(owner.getId(), "CURRENT", 0, 10, null).size());
+        assertEquals(1, bookingService.getBookingsByOwner(owner.getId(), "FUTURE", 0, 10, null).size());
+        assertEquals(1, bookingService.getBookingsByOwner(owner.getId(), "REJECTED", 0, 10, null).size());
+        assertTrue(bookingService.getBookingsByOwner(owner.getId(), "WAITING", 0, 10, null).isEmpty());
+        assertTrue(bookingService.getBookingsByOwner(booker.getId(), "ALL", 0, 10, null).isEmpty());
+    }
+
+    @Test
+    void approveBooking_whenApprovedTwice_thenSecondAttemptRejected() {
+        LocalDateTime now = LocalDateTime.now();
+        Booking booking = bookingRepository.save(new Booking(null, now.plusDays(1), now.plusDays(2),
+                item.getId(), booker.getId(), BookingStatus.WAITING));
+
+        assertThrows(AccessDeniedException.class,
+                () -> bookingService.approveBooking(booking.getId(), booker.getId(), true));
+
+        BookingDto approved = bookingService.approveBooking(booking.getId(), owner.getId(), true);
+
+        assertEquals(BookingStatus.APPROVED, approved.getStatus());
+        assertEquals("Дрель", approved.getItem().getName());
+        assertThrows(ValidationException.class,
+                () -> bookingService.approveBooking(booking.getId(), owner.getId(), false));
+        assertThrows(ValidationException.class,
+                () -> bookingService.cancelBooking(booking.getId(), booker.getId()));
+    }
+
+    @Test
+    void getBookingETag_whenStatusChanged_thenETagChanges() {
+        LocalDateTime now = LocalDateTime.now();
+        Booking booking = bookingRepository.save(new Booking(null, now.plusDays(1), now.plusDays(2),
+                item.getId(), booker.getId(), BookingStatus.WAITING));
+        String waiting = bookingService.getBookingETag(booking.getId(), booker.getId());
+
+        bookingService.approveBooking(booking.getId(), owner.getId(), true);
+
+        assertNotEquals(waiting, bookingService.getBookingETag(booking.getId(), booker.getId()));
+        assertThrows(AccessDeniedException.class, () -> bookingService.getBookingETag(booking.getId(), 999L));
+    }
+
+    @Test
+    void approveBookings_whenBatchGiven_thenStatusesUpdatedPerEntry() {
+        LocalDateTime now = LocalDateTime.now();
+        Booking first = bookingRepository.save(new Booking(null, now.plusDays(1), now.plusDays(2),
+                item.getId(), booker.getId(), BookingStatus.WAITING));
+        Booking second = bookingRepository.save(new Booking(null, now.plusDays(3), now.plusDays(4),
+                item.getId(), booker.getId(), BookingStatus.WAITING));
+
+        List<BookingApprovalResultDto> results = bookingService.approveBookings(List.of(
+                new BookingApprovalDto(first.getId(), true),
+                new BookingApprovalDto(second.getId(), false),
+                new BookingApprovalDto(999L, true)), owner.getId());
+
+        assertEquals(BookingStatus.APPROVED, results.get(0).getBooking().getStatus());
+        assertEquals(BookingStatus.REJECTED, results.get(1).getBooking().getStatus());
+        assertNotNull(results.get(2).getError());
+        assertEquals(BookingStatus.APPROVED,
+                bookingService.getBookingById(first.getId(), owner.getId()).getStatus());
+        assertEquals(BookingStatus.REJECTED,
+                bookingService.getBookingById(second.getId(), owner.getId()).getStatus());
+    }
+
+    @Test
+    void approveBookings_whenOneEntryOverlapsApproved_thenOnlyThatEntryFails() {
+        LocalDateTime now = LocalDateTime.now();
+        bookingRepository.save(new Booking(null, now.plusDays(1), now.plusDays(3),
+                item.getId(), booker.getId(), BookingStatus.APPROVED));
+        Booking conflicting = bookingRepository.save(new Booking(null, now.plusDays(2), now.plusDays(4),
+                item.getId(), booker.getId(), BookingStatus.WAITING));
+        Booking free = bookingRepository.save(new Booking(null, now.plusDays(5), now.plusDays(6),
+                item.getId(), booker.getId(), BookingStatus.WAITING));
+        Booking overlapsFree = bookingRepository.save(new Booking(null, now.plusDays(5).plusHours(12),
+                now.plusDays(7), item.getId(), booker.getId(), BookingStatus.WAITING));
+
+        List<BookingApprovalResultDto> results = bookingService.approveBookings(List.of(
+                new BookingApprovalDto(conflicting.getId(), true),
+                new BookingApprovalDto(free.getId(), true),
+                new BookingApprovalDto(overlapsFree.getId(), true)), owner.getId());
+
+        assertEquals("Вещь уже забронирована на указанный период", results.get(0).getError());
+        assertEquals(BookingStatus.APPROVED, results.get(1).getBooking().getStatus());
+        assertEquals("Вещь уже забронирована на указанный период", results.get(2).getError());
+        assertEquals(BookingStatus.WAITING,
+                bookingService.getBookingById(conflicting.getId(), owner.getId()).getStatus());
+        assertEquals(BookingStatus.APPROVED,
+                bookingService.getBookingById(free.getId(), owner.getId()).getStatus());
+        assertEquals(BookingStatus.WAITING,
+                bookingService.getBookingById(overlapsFree.getId(), owner.getId()).getStatus());
+    }
+}
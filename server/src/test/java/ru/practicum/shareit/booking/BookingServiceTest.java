@@ -6,27 +6,39 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.projection.SpelAwareProxyProjectionFactory;
+import ru.practicum.shareit.booking.dto.BookingApprovalDto;
+import ru.practicum.shareit.booking.dto.BookingApprovalResultDto;
+import ru.practicum.shareit.booking.dto.BookingDetails;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.mapper.BookingMapper;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.BookingStatus;
 import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.booking.service.BookingExpiryScheduler;
+import ru.practicum.shareit.booking.service.BookingIntervalIndex;
 import ru.practicum.shareit.booking.service.BookingServiceImpl;
+import ru.practicum.shareit.common.OffsetPageRequest;
 import ru.practicum.shareit.exception.*;
-import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemAvailability;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.ItemRepository;
-import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.item.service.ItemBookingPointers;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
 
 import java.time.LocalDateTime;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -35,15 +47,21 @@ class BookingServiceTest {
     @Mock
     private BookingRepository bookingRepository;
 
-    @Mock
-    private ItemService itemService;
-
     @Mock
     private UserRepository userRepository;
 
     @Mock
     private ItemRepository itemRepository;
 
+    @Mock
+    private BookingIntervalIndex bookingIntervalIndex;
+
+    @Mock
+    private BookingExpiryScheduler bookingExpiryScheduler;
+
+    @Mock
+    private ItemBookingPointers itemBookingPointers;
+
     @InjectMocks
     private BookingServiceImpl bookingService;
 
@@ -72,29 +90,59 @@ class BookingServiceTest {
 
     @Test
     void createBooking_whenValidData_thenBookingCreated() {
-        when(userRepository.existsById(booker.getId())).thenReturn(true);
-        when(itemService.getItemById(item.getId(), booker.getId()))
-                .thenReturn(new ItemDto(item.getId(), item.getName(), item.getDescription(),
-                        item.getAvailable(), item.getRequestId()));
-        when(itemService.getItemsByOwner(booker.getId()))
-                .thenReturn(Collections.emptyList());
-        when(bookingRepository.save(any(Booking.class))).thenReturn(booking);
-        when(userRepository.findById(booker.getId())).thenReturn(Optional.of(booker));
-        when(itemRepository.findById(item.getId())).thenReturn(Optional.of(item));
+        when(userRepository.findNameById(booker.getId())).thenReturn(Optional.of(booker.getName()));
+        when(itemRepository.findAvailabilityByIdForUpdate(item.getId())).thenReturn(Optional.of(availability(true)));
+        when(bookingRepository.saveAndCheckOverlap(any(Booking.class))).thenReturn(booking);
 
         BookingDto result = bookingService.createBooking(bookingDto, booker.getId());
 
         assertNotNull(result);
         assertEquals(booking.getId(), result.getId());
-        verify(bookingRepository).save(any(Booking.class));
+        assertEquals(booker.getName(), result.getBooker().getName());
+        assertEquals(item.getName(), result.getItem().getName());
+        verify(bookingRepository).saveAndCheckOverlap(any(Booking.class));
+        verify(bookingIntervalIndex).add(booking);
+        verify(bookingExpiryScheduler).schedule(booking);
+        verify(itemBookingPointers).onBookingCreated(booking);
+    }
+
+    @Test
+    void createBooking_whenBookerMissing_thenThrowException() {
+        when(userRepository.findNameById(booker.getId())).thenReturn(Optional.empty());
+
+        assertThrows(EntityNotFoundException.class,
+                () -> bookingService.createBooking(bookingDto, booker.getId()));
+        verifyNoInteractions(itemRepository);
+    }
+
+    @Test
+    void createBooking_whenIndexReportsOverlap_thenThrowWithoutLocking() {
+        when(userRepository.findNameById(booker.getId())).thenReturn(Optional.of(booker.getName()));
+        when(bookingIntervalIndex.overlaps(item.getId(), bookingDto.getStart(), bookingDto.getEnd()))
+                .thenReturn(true);
+
+        assertThrows(ValidationException.class,
+                () -> bookingService.createBooking(bookingDto, booker.getId()));
+        verify(itemRepository, never()).findAvailabilityByIdForUpdate(any());
+        verify(bookingRepository, never()).saveAndCheckOverlap(any(Booking.class));
+    }
+
+    @Test
+    void createBooking_whenDatabaseReportsOverlap_thenThrowException() {
+        when(userRepository.findNameById(booker.getId())).thenReturn(Optional.of(booker.getName()));
+        when(itemRepository.findAvailabilityByIdForUpdate(item.getId())).thenReturn(Optional.of(availability(true)));
+        when(bookingRepository.existsOverlapping(item.getId(), bookingDto.getStart(), bookingDto.getEnd()))
+                .thenReturn(true);
+
+        assertThrows(ValidationException.class,
+                () -> bookingService.createBooking(bookingDto, booker.getId()));
+        verify(bookingRepository, never()).saveAndCheckOverlap(any(Booking.class));
     }
 
     @Test
     void createBooking_whenItemNotAvailable_thenThrowException() {
-        when(userRepository.existsById(booker.getId())).thenReturn(true);
-        when(itemService.getItemById(item.getId(), booker.getId()))
-                .thenReturn(new ItemDto(item.getId(), item.getName(), item.getDescription(),
-                        false, item.getRequestId()));
+        when(userRepository.findNameById(booker.getId())).thenReturn(Optional.of(booker.getName()));
+        when(itemRepository.findAvailabilityByIdForUpdate(item.getId())).thenReturn(Optional.of(availability(false)));
 
         assertThrows(ValidationException.class,
                 () -> bookingService.createBooking(bookingDto, booker.getId()));
@@ -102,13 +150,8 @@ class BookingServiceTest {
 
     @Test
     void createBooking_whenBookOwnItem_thenThrowException() {
-        when(userRepository.existsById(owner.getId())).thenReturn(true);
-        when(itemService.getItemById(item.getId(), owner.getId()))
-                .thenReturn(new ItemDto(item.getId(), item.getName(), item.getDescription(),
-                        true, item.getRequestId()));
-        when(itemService.getItemsByOwner(owner.getId()))
-                .thenReturn(List.of(new ItemDto(item.getId(), item.getName(),
-                        item.getDescription(), true, item.getRequestId())));
+        when(userRepository.findNameById(owner.getId())).thenReturn(Optional.of(owner.getName()));
+        when(itemRepository.findAvailabilityByIdForUpdate(item.getId())).thenReturn(Optional.of(availability(true)));
 
         assertThrows(EntityNotFoundException.class,
                 () -> bookingService.createBooking(bookingDto, owner.getId()));
@@ -119,7 +162,7 @@ class BookingServiceTest {
         bookingDto.setStart(LocalDateTime.now().plusDays(2));
         bookingDto.setEnd(LocalDateTime.now().plusDays(1));
 
-        when(userRepository.existsById(booker.getId())).thenReturn(true);
+        when(userRepository.findNameById(booker.getId())).thenReturn(Optional.of(booker.getName()));
 
         assertThrows(ValidationException.class,
                 () -> bookingService.createBooking(bookingDto, booker.getId()));
@@ -127,22 +170,45 @@ class BookingServiceTest {
 
     @Test
     void approveBooking_whenOwnerApproves_thenBookingApproved() {
-        when(bookingRepository.findById(booking.getId())).thenReturn(Optional.of(booking));
-        when(itemRepository.findById(item.getId())).thenReturn(Optional.of(item));
-        when(userRepository.findById(booker.getId())).thenReturn(Optional.of(booker));
-        when(bookingRepository.save(any(Booking.class))).thenReturn(booking);
+        when(bookingRepository.checkOverlap(any())).thenCallRealMethod();
+        when(bookingRepository.updateWaitingStatusByOwner(booking.getId(), BookingStatus.APPROVED, owner.getId()))
+                .thenReturn(1);
+        booking.setStatus(BookingStatus.APPROVED);
+        BookingDetails details = toDetails(booking);
+        when(bookingRepository.findDetailsById(booking.getId())).thenReturn(Optional.of(details));
 
         BookingDto result = bookingService.approveBooking(booking.getId(), owner.getId(), true);
 
         assertNotNull(result);
         assertEquals(BookingStatus.APPROVED, result.getStatus());
-        verify(bookingRepository).save(booking);
+        assertEquals(booker.getName(), result.getBooker().getName());
+        verify(bookingRepository, never()).findById(any());
+        verify(bookingIntervalIndex, never()).remove(any(BookingDetails.class));
+        verify(itemBookingPointers).onBookingApproved(details);
+    }
+
+    @Test
+    void approveBooking_whenOwnerRejects_thenPeriodReleased() {
+        when(bookingRepository.checkOverlap(any())).thenCallRealMethod();
+        when(bookingRepository.updateWaitingStatusByOwner(booking.getId(), BookingStatus.REJECTED, owner.getId()))
+                .thenReturn(1);
+        booking.setStatus(BookingStatus.REJECTED);
+        BookingDetails details = toDetails(booking);
+        when(bookingRepository.findDetailsById(booking.getId())).thenReturn(Optional.of(details));
+
+        BookingDto result = bookingService.approveBooking(booking.getId(), owner.getId(), false);
+
+        assertEquals(BookingStatus.REJECTED, result.getStatus());
+        verify(bookingIntervalIndex).remove(details);
+        verify(itemBookingPointers, never()).onBookingApproved(any());
     }
 
     @Test
     void approveBooking_whenNotOwner_thenThrowException() {
-        when(bookingRepository.findById(booking.getId())).thenReturn(Optional.of(booking));
-        when(itemRepository.findById(item.getId())).thenReturn(Optional.of(item));
+        when(bookingRepository.checkOverlap(any())).thenCallRealMethod();
+        when(bookingRepository.updateWaitingStatusByOwner(booking.getId(), BookingStatus.APPROVED, 999L))
+                .thenReturn(0);
+        when(bookingRepository.findDetailsById(booking.getId())).thenReturn(Optional.of(toDetails(booking)));
 
         assertThrows(AccessDeniedException.class,
                 () -> bookingService.approveBooking(booking.getId(), 999L, true));
@@ -152,34 +218,69 @@ class BookingServiceTest {
     void approveBooking_whenAlreadyProcessed_thenThrowException() {
         booking.setStatus(BookingStatus.APPROVED);
 
-        when(bookingRepository.findById(booking.getId())).thenReturn(Optional.of(booking));
-        when(itemRepository.findById(item.getId())).thenReturn(Optional.of(item));
+        when(bookingRepository.checkOverlap(any())).thenCallRealMethod();
+        when(bookingRepository.updateWaitingStatusByOwner(booking.getId(), BookingStatus.APPROVED, owner.getId()))
+                .thenReturn(0);
+        when(bookingRepository.findDetailsById(booking.getId())).thenReturn(Optional.of(toDetails(booking)));
 
         assertThrows(ValidationException.class,
                 () -> bookingService.approveBooking(booking.getId(), owner.getId(), true));
     }
 
+    @Test
+    void approveBooking_whenBookingMissing_thenThrowException() {
+        when(bookingRepository.checkOverlap(any())).thenCallRealMethod();
+        when(bookingRepository.updateWaitingStatusByOwner(99L, BookingStatus.APPROVED, owner.getId()))
+                .thenReturn(0);
+        when(bookingRepository.findDetailsById(99L)).thenReturn(Optional.empty());
+
+        assertThrows(EntityNotFoundException.class,
+                () -> bookingService.approveBooking(99L, owner.getId(), true));
+    }
+
+    @Test
+    void approveBookings_whenMixedBatch_thenApplyValidEntriesInOneBatch() {
+        BookingDetails foreignDetails = new SpelAwareProxyProjectionFactory().createProjection(BookingDetails.class,
+                Map.of("id", 2L, "itemOwnerId", 77L, "status", BookingStatus.WAITING));
+
+        when(bookingRepository.findDetailsByIdIn(any()))
+                .thenReturn(List.of(toDetails(booking), foreignDetails));
+        when(bookingRepository.checkOverlap(any())).thenCallRealMethod();
+        when(bookingRepository.updateWaitingStatuses(Map.of(booking.getId(), BookingStatus.APPROVED)))
+                .thenReturn(Map.of(booking.getId(), true));
+
+        List<BookingApprovalResultDto> results = bookingService.approveBookings(List.of(
+                new BookingApprovalDto(booking.getId(), true),
+                new BookingApprovalDto(2L, true),
+                new BookingApprovalDto(3L, false),
+                new BookingApprovalDto(booking.getId(), false)), owner.getId());
+
+        assertEquals(4, results.size());
+        assertEquals(BookingStatus.APPROVED, results.get(0).getBooking().getStatus());
+        assertNull(results.get(0).getError());
+        assertNotNull(results.get(1).getError());
+        assertNotNull(results.get(2).getError());
+        assertEquals("Бронирование уже обработано", results.get(3).getError());
+        verify(bookingRepository).findDetailsByIdIn(any());
+        verify(bookingIntervalIndex, never()).remove(any(BookingDetails.class));
+    }
+
     @Test
     void getBookingById_whenOwnerRequests_thenReturnBooking() {
-        when(bookingRepository.findById(booking.getId())).thenReturn(Optional.of(booking));
-        when(itemService.getItemsByOwner(owner.getId()))
-                .thenReturn(List.of(new ItemDto(item.getId(), item.getName(),
-                        item.getDescription(), true, item.getRequestId())));
-        when(userRepository.findById(booker.getId())).thenReturn(Optional.of(booker));
-        when(itemRepository.findById(item.getId())).thenReturn(Optional.of(item));
+        when(bookingRepository.findDetailsById(booking.getId())).thenReturn(Optional.of(toDetails(booking)));
 
         BookingDto result = bookingService.getBookingById(booking.getId(), owner.getId());
 
         assertNotNull(result);
         assertEquals(booking.getId(), result.getId());
+        assertEquals(booker.getName(), result.getBooker().getName());
+        assertEquals(item.getName(), result.getItem().getName());
+        verifyNoInteractions(itemRepository);
     }
 
     @Test
     void getBookingById_whenBookerRequests_thenReturnBooking() {
-        when(bookingRepository.findById(booking.getId())).thenReturn(Optional.of(booking));
-        when(itemService.getItemsByOwner(booker.getId())).thenReturn(Collections.emptyList());
-        when(userRepository.findById(booker.getId())).thenReturn(Optional.of(booker));
-        when(itemRepository.findById(item.getId())).thenReturn(Optional.of(item));
+        when(bookingRepository.findDetailsById(booking.getId())).thenReturn(Optional.of(toDetails(booking)));
 
         BookingDto result = bookingService.getBookingById(booking.getId(), booker.getId());
 
@@ -191,9 +292,7 @@ class BookingServiceTest {
     void getBookingById_whenUnauthorizedUser_thenThrowException() {
         User unauthorizedUser = new User(3L, "Stranger", "stranger@mail.com");
 
-        when(bookingRepository.findById(booking.getId())).thenReturn(Optional.of(booking));
-        when(itemService.getItemsByOwner(unauthorizedUser.getId()))
-                .thenReturn(Collections.emptyList());
+        when(bookingRepository.findDetailsById(booking.getId())).thenReturn(Optional.of(toDetails(booking)));
 
         assertThrows(AccessDeniedException.class,
                 () -> bookingService.getBookingById(booking.getId(), unauthorizedUser.getId()));
@@ -201,54 +300,131 @@ class BookingServiceTest {
 
     @Test
     void cancelBooking_whenBookerCancels_thenBookingCanceled() {
-        when(bookingRepository.findById(booking.getId())).thenReturn(Optional.of(booking));
-        when(bookingRepository.save(any(Booking.class))).thenReturn(booking);
+        when(bookingRepository.cancelWaitingByBooker(booking.getId(), booker.getId())).thenReturn(1);
+        booking.setStatus(BookingStatus.CANCELED);
+        BookingDetails details = toDetails(booking);
+        when(bookingRepository.findDetailsById(booking.getId())).thenReturn(Optional.of(details));
 
         BookingDto result = bookingService.cancelBooking(booking.getId(), booker.getId());
 
         assertNotNull(result);
         assertEquals(BookingStatus.CANCELED, result.getStatus());
-        verify(bookingRepository).save(booking);
+        verify(bookingIntervalIndex).remove(details);
     }
 
     @Test
     void cancelBooking_whenNotBooker_thenThrowException() {
-        when(bookingRepository.findById(booking.getId())).thenReturn(Optional.of(booking));
+        when(bookingRepository.cancelWaitingByBooker(booking.getId(), 999L)).thenReturn(0);
+        when(bookingRepository.findDetailsById(booking.getId())).thenReturn(Optional.of(toDetails(booking)));
 
         assertThrows(EntityNotFoundException.class,
                 () -> bookingService.cancelBooking(booking.getId(), 999L));
     }
 
+    @Test
+    void cancelBooking_whenNotWaiting_thenThrowException() {
+        booking.setStatus(BookingStatus.APPROVED);
+        when(bookingRepository.cancelWaitingByBooker(booking.getId(), booker.getId())).thenReturn(0);
+        when(bookingRepository.findDetailsById(booking.getId())).thenReturn(Optional.of(toDetails(booking)));
+
+        assertThrows(ValidationException.class,
+                () -> bookingService.cancelBooking(booking.getId(), booker.getId()));
+    }
+
     @Test
     void getBookingsByBooker_whenAllState_thenReturnAllBookings() {
         when(userRepository.existsById(booker.getId())).thenReturn(true);
-        when(bookingRepository.findByBookerId(booker.getId()))
-                .thenReturn(List.of(booking));
-        when(userRepository.findAllById(any())).thenReturn(List.of(booker));
-        when(itemRepository.findAllById(any())).thenReturn(List.of(item));
+        when(bookingRepository.findAllByBooker(eq(booker.getId()), isNull(), isNull(), any(Pageable.class)))
+                .thenReturn(List.of(toDetails(booking)));
 
-        List<BookingDto> result = bookingService.getBookingsByBooker(booker.getId(), "ALL");
+        List<BookingDto> result = bookingService.getBookingsByBooker(booker.getId(), "ALL", 0, 10, null);
 
         assertNotNull(result);
         assertFalse(result.isEmpty());
         assertEquals(1, result.size());
     }
 
+    @Test
+    void getBookingsByBooker_whenWaitingState_thenQueryByStatusWithPage() {
+        when(userRepository.existsById(booker.getId())).thenReturn(true);
+        when(bookingRepository.findByBookerAndStatus(eq(booker.getId()), eq(BookingStatus.WAITING),
+                isNull(), isNull(), eq(OffsetPageRequest.of(10, 5))))
+                .thenReturn(List.of(toDetails(booking)));
+
+        List<BookingDto> result = bookingService.getBookingsByBooker(booker.getId(), "waiting", 10, 5, null);
+
+        assertEquals(1, result.size());
+        assertEquals(BookingStatus.WAITING, result.get(0).getStatus());
+    }
+
+    @Test
+    void getBookingsByOwner_whenFromNotMultipleOfSize_thenQueryExactOffset() {
+        when(userRepository.existsById(owner.getId())).thenReturn(true);
+        when(bookingRepository.findAllByOwner(eq(owner.getId()), isNull(), isNull(), eq(OffsetPageRequest.of(3, 2))))
+                .thenReturn(List.of(toDetails(booking)));
+
+        List<BookingDto> result = bookingService.getBookingsByOwner(owner.getId(), "ALL", 3, 2, null);
+
+        assertEquals(1, result.size());
+    }
+
+    @Test
+    void getBookingsByBooker_whenCursorGiven_thenQueryAfterCursor() {
+        Booking cursorBooking = new Booking(7L, LocalDateTime.now().plusDays(5), LocalDateTime.now().plusDays(6),
+                item.getId(), booker.getId(), BookingStatus.APPROVED);
+
+        when(userRepository.existsById(booker.getId())).thenReturn(true);
+        when(bookingRepository.findStartById(7L)).thenReturn(Optional.of(cursorBooking.getStart()));
+        when(bookingRepository.findFutureByBooker(eq(booker.getId()), any(LocalDateTime.class),
+                eq(cursorBooking.getStart()), eq(7L), eq(PageRequest.of(0, 10))))
+                .thenReturn(Collections.emptyList());
+
+        List<BookingDto> result = bookingService.getBookingsByBooker(booker.getId(), "FUTURE", 30, 10, 7L);
+
+        assertTrue(result.isEmpty());
+    }
+
+    @Test
+    void getBookingsByBooker_whenUnknownState_thenThrowException() {
+        when(userRepository.existsById(booker.getId())).thenReturn(true);
+
+        assertThrows(ValidationException.class,
+                () -> bookingService.getBookingsByBooker(booker.getId(), "UNSUPPORTED", 0, 10, null));
+    }
+
     @Test
     void getBookingsByOwner_whenAllState_thenReturnAllBookings() {
         when(userRepository.existsById(owner.getId())).thenReturn(true);
-        when(itemService.getItemsByOwner(owner.getId()))
-                .thenReturn(List.of(new ItemDto(item.getId(), item.getName(),
-                        item.getDescription(), true, item.getRequestId())));
-        when(bookingRepository.findByItemIdIn(any()))
-                .thenReturn(List.of(booking));
-        when(userRepository.findAllById(any())).thenReturn(List.of(booker));
-        when(itemRepository.findAllById(any())).thenReturn(List.of(item));
+        when(bookingRepository.findAllByOwner(eq(owner.getId()), isNull(), isNull(), any(Pageable.class)))
+                .thenReturn(List.of(toDetails(booking)));
 
-        List<BookingDto> result = bookingService.getBookingsByOwner(owner.getId(), "ALL");
+        List<BookingDto> result = bookingService.getBookingsByOwner(owner.getId(), "ALL", 0, 10, null);
 
         assertNotNull(result);
         assertFalse(result.isEmpty());
         assertEquals(1, result.size());
+        assertEquals(item.getName(), result.get(0).getItem().getName());
+        verifyNoInteractions(itemRepository);
+    }
+
+    private ItemAvailability availability(boolean available) {
+        return new SpelAwareProxyProjectionFactory().createProjection(ItemAvailability.class, Map.of(
+                "id", item.getId(),
+                "name", item.getName(),
+                "ownerId", item.getOwnerId(),
+                "available", available));
+    }
+
+    private BookingDetails toDetails(Booking booking) {
+        return new SpelAwareProxyProjectionFactory().createProjection(BookingDetails.class, Map.of(
+                "id", booking.getId(),
+                "start", booking.getStart(),
+                "end", booking.getEnd(),
+                "status", booking.getStatus(),
+                "itemId", item.getId(),
+                "itemName", item.getName(),
+                "itemOwnerId", item.getOwnerId(),
+                "bookerId", booker.getId(),
+                "bookerName", booker.getName()));
     }
 }
@@ -0,0 +1,74 @@
+package ru.practicum.shareit.booking;
+
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.booking.service.TimingWheel;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TimingWheelTest {
+
+    @Test
+    void advance_whenDeadlineReached_thenEntryReturnedOnce() {
+        TimingWheel<String> wheel = new TimingWheel<>(1000, 0);
+        wheel.add("soon", 3_000);
+        wheel.add("later", 120_000);
+
+        assertTrue(wheel.advance(2_000).isEmpty());
+        assertEquals(List.of("soon"), wheel.advance(3_500));
+        assertTrue(wheel.advance(100_000).isEmpty());
+        assertEquals(List.of("later"), wheel.advance(120_000));
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void advance_whenDeadlineAlreadyPassed_thenEntryReturnedOnNextTick() {
+        TimingWheel<String> wheel = new TimingWheel<>(1000, 10_000);
+        wheel.add("overdue", 1_000);
+
+        assertEquals(List.of("overdue"), wheel.advance(11_000));
+    }
+
+    @Test
+    void advance_whenRandomDeadlines_thenNothingFiresEarlyOrLate() {
+        Random random = new Random(7);
+        TimingWheel<Long> wheel = new TimingWheel<>(1, 0);
+        Map<Long, Long> deadlines = new HashMap<>();
+        long now = 0;
+
+        for (long id = 0; id < 5_000; id++) {
+            long deadline = now + switch (random.nextInt(3)) {
+                case 0 -> random.nextInt(100);
+                case 1 -> random.nextInt(300_000);
+                default -> random.nextInt(1 << 26);
+            };
+            wheel.add(id, deadline);
+            deadlines.put(id, Math.max(deadline, now + 1));
+
+            if (id % 10 == 0) {
+                now += random.nextInt(5_000);
+                for (Long fired : wheel.advance(now)) {
+                    assertTrue(deadlines.remove(fired) <= now);
+                }
+                long current = now;
+                assertTrue(deadlines.values().stream().allMatch(pending -> pending > current));
+            }
+        }
+
+        wheel.advance(now + (1L << 26));
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void lagMillis_whenNotAdvanced_thenGrowsWithTime() {
+        TimingWheel<String> wheel = new TimingWheel<>(1000, 0);
+
+        assertEquals(5_000, wheel.lagMillis(5_000));
+        wheel.advance(5_000);
+        assertEquals(0, wheel.lagMillis(5_000));
+    }
+}
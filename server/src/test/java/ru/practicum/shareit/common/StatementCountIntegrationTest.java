@@ -0,0 +1,54 @@
+package ru.practicum.shareit.common;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.util.Locale;
+
+/**
+ * Основа тестов на число SQL-запросов. Фоновые задачи запускаются раз в час,
+ * чтобы их запросы не попадали в общую статистику Hibernate во время замера.
+ * Контекст закрывается после класса: тесты делят одну базу H2 в памяти, и create-drop
+ * других контекстов удалил бы таблицы из-под закэшированного.
+ */
+@SpringBootTest(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "shareit.item.booking-pointers.refresh-ms=3600000",
+        "shareit.booking.expiry.tick-ms=3600000"
+})
+@Transactional
+@DirtiesContext
+public abstract class StatementCountIntegrationTest {
+
+    @Autowired
+    protected UserRepository userRepository;
+
+    @Autowired
+    protected EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    protected User saveUser(String name) {
+        return userRepository.save(new User(null, name, name.toLowerCase(Locale.ROOT) + "@mail.com"));
+    }
+
+    /**
+     * Сбрасывает подготовленные данные в базу, очищает контекст персистентности и начинает замер заново.
+     */
+    protected Statistics resetStatistics() {
+        entityManager.flush();
+        entityManager.clear();
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        return statistics;
+    }
+}
@@ -0,0 +1,47 @@
+package ru.practicum.shareit.item;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.item.dto.AvailabilitySlotDto;
+import ru.practicum.shareit.item.service.ItemAvailabilityCache;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ItemAvailabilityCacheTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private ItemAvailabilityCache cache;
+    private LocalDateTime from;
+    private LocalDateTime to;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        cache = new ItemAvailabilityCache(meterRegistry, 100, 60);
+        from = LocalDateTime.now().withNano(0);
+        to = from.plusDays(1);
+    }
+
+    @Test
+    void get_whenVersionMatches_thenReturnSlotsAndRecordHit() {
+        cache.put(1L, 3L, from, to, List.of(new AvailabilitySlotDto(from, to)));
+
+        assertEquals(1, cache.get(1L, 3L, from, to).orElseThrow().size());
+        assertEquals(1.0, meterRegistry.get("cache.gets")
+                .tag("cache", "shareit.item.availability")
+                .tag("result", "hit")
+                .functionCounter().count());
+    }
+
+    @Test
+    void get_whenVersionChanged_thenMiss() {
+        cache.put(1L, 3L, from, to, List.of(new AvailabilitySlotDto(from, to)));
+
+        assertTrue(cache.get(1L, 4L, from, to).isEmpty());
+        assertTrue(cache.get(1L, 3L, from, to.plusDays(1)).isEmpty());
+    }
+}
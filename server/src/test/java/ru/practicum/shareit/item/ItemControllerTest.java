@@ -6,13 +6,19 @@ import org.mockito.Mockito;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.test.web.servlet.MockMvc;
 import ru.practicum.shareit.comment.service.CommentService;
 import ru.practicum.shareit.item.controller.ItemController;
+import ru.practicum.shareit.item.dto.AvailabilitySlotDto;
 import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemSummaryDto;
+import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.service.ItemService;
 
+import java.time.LocalDateTime;
 import java.util.Collections;
 import java.util.List;
 
@@ -190,6 +196,22 @@ class ItemControllerTest {
                 .andExpect(jsonPath("$.name").value("Дрель Updated"));
     }
 
+    @Test
+    void updateItem_whenConcurrentlyModified_thenReturnConflict() throws Exception {
+        ItemDto itemDto = new ItemDto();
+        itemDto.setName("Дрель Updated");
+
+        Mockito.when(itemService.updateItem(Mockito.any(), Mockito.any(), Mockito.any()))
+                .thenThrow(new ObjectOptimisticLockingFailureException(Item.class, 1L));
+
+        mockMvc.perform(patch("/items/1")
+                        .header("X-Sharer-User-Id", 1L)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(itemDto)))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.error").exists());
+    }
+
     @Test
     void getItemById_whenValidRequest_thenReturnOk() throws Exception {
         ItemDto responseDto = new ItemDto();
@@ -198,7 +220,7 @@ class ItemControllerTest {
         responseDto.setDescription("Мощная дрель");
         responseDto.setAvailable(true);
 
-        Mockito.when(itemService.getItemById(Mockito.any(), Mockito.any()))
+        Mockito.when(itemService.getItemById(Mockito.any(), Mockito.any(), Mockito.anyInt(), Mockito.any()))
                 .thenReturn(responseDto);
 
         mockMvc.perform(get("/items/1")
@@ -208,6 +230,53 @@ class ItemControllerTest {
                 .andExpect(jsonPath("$.name").value("Дрель"));
     }
 
+    @Test
+    void getItemById_whenETagMatches_thenReturnNotModifiedWithoutBody() throws Exception {
+        Mockito.when(itemService.getItemETag(1L, 1L)).thenReturn("\"item-1-0-0\"");
+
+        mockMvc.perform(get("/items/1")
+                        .header("X-Sharer-User-Id", 1L)
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"item-1-0-0\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"item-1-0-0\""))
+                .andExpect(content().string(""));
+
+        Mockito.verify(itemService, Mockito.never())
+                .getItemById(Mockito.any(), Mockito.any(), Mockito.anyInt(), Mockito.any());
+    }
+
+    @Test
+    void getItemById_whenCommentsSizeAbsent_thenRequestAllComments() throws Exception {
+        ItemDto responseDto = new ItemDto();
+        responseDto.setId(1L);
+
+        Mockito.when(itemService.getItemById(1L, 1L, 0, null))
+                .thenReturn(responseDto);
+
+        mockMvc.perform(get("/items/1")
+                        .header("X-Sharer-User-Id", 1L))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(1));
+
+        Mockito.verify(itemService).getItemById(1L, 1L, 0, null);
+    }
+
+    @Test
+    void getItemById_whenCommentsPageGiven_thenForwardIt() throws Exception {
+        ItemDto responseDto = new ItemDto();
+        responseDto.setId(1L);
+
+        Mockito.when(itemService.getItemById(1L, 1L, 20, 5))
+                .thenReturn(responseDto);
+
+        mockMvc.perform(get("/items/1")
+                        .header("X-Sharer-User-Id", 1L)
+                        .param("commentsFrom", "20")
+                        .param("commentsSize", "5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(1));
+    }
+
     @Test
     void getItemsByOwner_whenValidRequest_thenReturnOk() throws Exception {
         ItemDto itemDto = new ItemDto();
@@ -235,7 +304,8 @@ class ItemControllerTest {
 
         List<ItemDto> items = List.of(itemDto);
 
-        Mockito.when(itemService.searchItems(Mockito.any(), Mockito.any()))
+        Mockito.when(itemService.searchItems(Mockito.any(), Mockito.any(), Mockito.anyInt(), Mockito.anyInt(), Mockito.any(),
+                Mockito.anyBoolean()))
                 .thenReturn(items);
 
         mockMvc.perform(get("/items/search")
@@ -246,9 +316,27 @@ class ItemControllerTest {
                 .andExpect(jsonPath("$[0].name").value("Дрель"));
     }
 
+    @Test
+    void searchItems_whenPageGiven_thenForwardFromSizeAndCursor() throws Exception {
+        Mockito.when(itemService.searchItems("дрель", 1L, 20, 5, 7L, false))
+                .thenReturn(Collections.emptyList());
+
+        mockMvc.perform(get("/items/search")
+                        .header("X-Sharer-User-Id", 1L)
+                        .param("text", "дрель")
+                        .param("from", "20")
+                        .param("size", "5")
+                        .param("cursor", "7"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$").isEmpty());
+
+        Mockito.verify(itemService).searchItems("дрель", 1L, 20, 5, 7L, false);
+    }
+
     @Test
     void searchItems_whenEmptyText_thenReturnOk() throws Exception {
-        Mockito.when(itemService.searchItems(Mockito.any(), Mockito.any()))
+        Mockito.when(itemService.searchItems(Mockito.any(), Mockito.any(), Mockito.anyInt(), Mockito.anyInt(), Mockito.any(),
+                Mockito.anyBoolean()))
                 .thenReturn(Collections.emptyList());
 
         mockMvc.perform(get("/items/search")
@@ -293,7 +381,8 @@ class ItemControllerTest {
 
     @Test
     void searchItems_whenNoAvailableItems_thenReturnEmptyList() throws Exception {
-        Mockito.when(itemService.searchItems(Mockito.any(), Mockito.any()))
+        Mockito.when(itemService.searchItems(Mockito.any(), Mockito.any(), Mockito.anyInt(), Mockito.anyInt(), Mockito.any(),
+                Mockito.anyBoolean()))
                 .thenReturn(Collections.emptyList());
 
         mockMvc.perform(get("/items/search")
@@ -343,4 +432,57 @@ class ItemControllerTest {
                         .content(commentJson))
                 .andExpect(status().isOk());
     }
+
+    @Test
+    void getItemAvailability_whenWindowGiven_thenReturnFreeSlots() throws Exception {
+        LocalDateTime from = LocalDateTime.of(2030, 1, 1, 10, 0);
+        LocalDateTime to = from.plusDays(2);
+
+        Mockito.when(itemService.getItemAvailability(1L, from, to))
+                .thenReturn(List.of(new AvailabilitySlotDto(from, from.plusDays(1))));
+
+        mockMvc.perform(get("/items/1/availability")
+                        .header("X-Sharer-User-Id", 1L)
+                        .param("from", "2030-01-01T10:00:00")
+                        .param("to", "2030-01-03T10:00:00"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].end").value("2030-01-02T10:00:00"));
+    }
+
+    @Test
+    void suggestItemNames_whenPrefixGiven_thenReturnNames() throws Exception {
+        Mockito.when(itemService.suggestItemNames("дре", 5))
+                .thenReturn(List.of("Дрель", "Дрезина"));
+
+        mockMvc.perform(get("/items/suggest")
+                        .header("X-Sharer-User-Id", 1L)
+                        .param("prefix", "дре")
+                        .param("limit", "5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0]").value("Дрель"));
+    }
+
+    @Test
+    void searchItems_whenSummaryView_thenReturnSnippetsWithoutDescription() throws Exception {
+        Mockito.when(itemService.searchItemSummaries("дрель", 1L, 0, 10, null, false))
+                .thenReturn(List.of(new ItemSummaryDto(1L, "Дрель", true, "Мощная дрель")));
+
+        mockMvc.perform(get("/items/search")
+                        .header("X-Sharer-User-Id", 1L)
+                        .param("text", "дрель")
+                        .param("view", "summary"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].snippet").value("Мощная дрель"))
+                .andExpect(jsonPath("$[0].description").doesNotExist());
+    }
+
+    @Test
+    void getItemsByOwner_whenUnknownView_thenReturnBadRequest() throws Exception {
+        mockMvc.perform(get("/items")
+                        .header("X-Sharer-User-Id", 1L)
+                        .param("view", "compact"))
+                .andExpect(status().isBadRequest());
+    }
 }
@@ -0,0 +1,111 @@
+package ru.practicum.shareit.item;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.comment.dto.CommentDto;
+import ru.practicum.shareit.comment.repository.CommentRepository;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.event.ItemBookingsChangedEvent;
+import ru.practicum.shareit.item.event.ItemChangedEvent;
+import ru.practicum.shareit.item.service.ItemBookingPointers;
+import ru.practicum.shareit.item.service.ItemDetailsCache;
+import ru.practicum.shareit.user.event.UserRenamedEvent;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ItemDetailsCacheTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private CommentRepository commentRepository;
+    private ItemDetailsCache cache;
+    private AtomicInteger loads;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        commentRepository = mock(CommentRepository.class);
+        cache = new ItemDetailsCache(meterRegistry, commentRepository, 100);
+        loads = new AtomicInteger();
+    }
+
+    @Test
+    void getView_whenCalledTwice_thenLoadOnceAndRecordHit() {
+        cache.getView(1L, this::load);
+        ItemDetailsCache.ItemView view = cache.getView(1L, this::load);
+
+        assertEquals(1, loads.get());
+        assertEquals("Дрель", view.item().getName());
+        assertEquals(1.0, meterRegistry.get("cache.gets")
+                .tag("cache", "shareit.item.details")
+                .tag("result", "hit")
+                .functionCounter().count());
+    }
+
+    @Test
+    void onItemChanged_whenItemUpdated_thenReloadViewAndComments() {
+        ItemDetailsCache.CommentsPage page = new ItemDetailsCache.CommentsPage(0, 10);
+        cache.getView(1L, this::load).comments(page, p -> List.of(comment("Старый отзыв")));
+
+        cache.onItemChanged(new ItemChangedEvent(1L));
+        List<CommentDto> comments = cache.getView(1L, this::load)
+                .comments(page, p -> List.of(comment("Новый отзыв")));
+
+        assertEquals(2, loads.get());
+        assertEquals("Новый отзыв", comments.get(0).getText());
+    }
+
+    @Test
+    void onUserRenamed_whenUserCommentedItem_thenReloadOnlyThatItem() {
+        ItemDetailsCache.CommentsPage page = new ItemDetailsCache.CommentsPage(0, 10);
+        cache.getView(1L, this::load).comments(page, p -> List.of(comment("Отзыв")));
+        cache.getView(2L, this::load);
+        when(commentRepository.findItemIdsByAuthorId(7L)).thenReturn(List.of(1L));
+
+        cache.onUserRenamed(new UserRenamedEvent(7L));
+        List<CommentDto> comments = cache.getView(1L, this::load)
+                .comments(page, p -> List.of(new CommentDto(1L, "Отзыв", "Новое имя", LocalDateTime.now())));
+        cache.getView(2L, this::load);
+
+        assertEquals(3, loads.get());
+        assertEquals("Новое имя", comments.get(0).getAuthorName());
+    }
+
+    @Test
+    void getBookings_whenRefreshMomentPassedOrBookingsChanged_thenReload() {
+        LocalDateTime now = LocalDateTime.now();
+        AtomicInteger bookingLoads = new AtomicInteger();
+
+        cache.getBookings(1L, now, () -> {
+            bookingLoads.incrementAndGet();
+            return new ItemBookingPointers.Pointers(null, null, now.plusHours(1));
+        });
+        cache.getBookings(1L, now, () -> fail("ссылки ещё актуальны"));
+        cache.getBookings(1L, now.plusHours(2), () -> {
+            bookingLoads.incrementAndGet();
+            return new ItemBookingPointers.Pointers(null, null, null);
+        });
+        cache.onItemBookingsChanged(new ItemBookingsChangedEvent(1L));
+        cache.getBookings(1L, now.plusHours(2), () -> {
+            bookingLoads.incrementAndGet();
+            return new ItemBookingPointers.Pointers(null, null, null);
+        });
+
+        assertEquals(3, bookingLoads.get());
+    }
+
+    private ItemDetailsCache.ItemView load(Long itemId) {
+        loads.incrementAndGet();
+        return new ItemDetailsCache.ItemView(new ItemDto(itemId, "Дрель", "Мощная дрель", true, null), 1L);
+    }
+
+    private static CommentDto comment(String text) {
+        return new CommentDto(1L, text, "Booker", LocalDateTime.now());
+    }
+}
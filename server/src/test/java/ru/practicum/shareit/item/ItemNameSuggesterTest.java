@@ -0,0 +1,71 @@
+package ru.practicum.shareit.item;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.service.ItemNameSuggester;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ItemNameSuggesterTest {
+
+    @Mock
+    private ItemRepository itemRepository;
+
+    private ItemNameSuggester suggester;
+
+    @BeforeEach
+    void setUp() {
+        suggester = new ItemNameSuggester(itemRepository, 2);
+    }
+
+    @Test
+    void suggest_whenPrefixMatches_thenMostPopularNamesFirst() {
+        suggester.put(item(1L, "Дрель", true));
+        suggester.put(item(2L, "Дрель ударная", true));
+        suggester.put(item(3L, "дрель  ударная", true));
+        suggester.put(item(4L, "Дрезина", true));
+        suggester.put(item(5L, "Молоток", true));
+
+        assertEquals(List.of("Дрель ударная", "Дрезина"), suggester.suggest(" ДРЕ", 10));
+        assertEquals(List.of("Дрель ударная"), suggester.suggest("дрель", 1));
+        assertEquals(List.of("Молоток"), suggester.suggest("м", 10));
+        assertTrue(suggester.suggest("пила", 10).isEmpty());
+        assertTrue(suggester.suggest("  ", 10).isEmpty());
+    }
+
+    @Test
+    void put_whenItemRenamedOrUnavailable_thenSuggestionsFollow() {
+        suggester.put(item(1L, "Дрель", true));
+        suggester.put(item(2L, "Дрезина", true));
+
+        suggester.put(item(1L, "Перфоратор", true));
+        suggester.put(item(2L, "Дрезина", false));
+
+        assertTrue(suggester.suggest("др", 10).isEmpty());
+        assertEquals(List.of("Перфоратор"), suggester.suggest("пер", 10));
+    }
+
+    @Test
+    void rebuild_whenAvailableItemsStored_thenLoadInBatches() {
+        when(itemRepository.findTop1000ByAvailableTrueAndIdGreaterThanOrderByIdAsc(anyLong()))
+                .thenReturn(List.of(item(1L, "Дрель", true), item(2L, "Дрезина", true)));
+
+        suggester.rebuild();
+
+        assertEquals(List.of("Дрезина", "Дрель"), suggester.suggest("дре", 10));
+    }
+
+    private static Item item(Long id, String name, boolean available) {
+        return new Item(id, name, "Описание", available, 1L, null);
+    }
+}
@@ -0,0 +1,109 @@
+package ru.practicum.shareit.item;
+
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.comment.model.Comment;
+import ru.practicum.shareit.comment.repository.CommentRepository;
+import ru.practicum.shareit.common.StatementCountIntegrationTest;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ItemOwnerStatementCountIntegrationTest extends StatementCountIntegrationTest {
+
+    @Autowired
+    private ItemService itemService;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private CommentRepository commentRepository;
+
+    private User owner;
+    private User booker;
+
+    @BeforeEach
+    void setUp() {
+        owner = saveUser("Owner");
+        booker = saveUser("Booker");
+    }
+
+    @Test
+    void getItemsByOwner_whenOwnerHasMoreItems_thenStatementCountStaysConstant() {
+        addItems(2);
+        long fewItemsStatements = countStatementsForOwnerItems(2);
+
+        addItems(40);
+        long manyItemsStatements = countStatementsForOwnerItems(42);
+
+        assertEquals(4, fewItemsStatements);
+        assertEquals(fewItemsStatements, manyItemsStatements);
+    }
+
+    @Test
+    void getItemById_whenViewCached_thenNoStatementsForOtherUsers() {
+        addItems(1);
+        Long itemId = itemRepository.findDetailsByOwnerId(owner.getId()).get(0).getId();
+        itemService.getItemById(itemId, booker.getId(), 0, 10);
+        Statistics statistics = resetStatistics();
+
+        ItemDto result = itemService.getItemById(itemId, booker.getId(), 0, 10);
+
+        assertEquals(0, statistics.getPrepareStatementCount());
+        assertEquals(1, result.getComments().size());
+        assertNull(result.getLastBooking());
+    }
+
+    private long countStatementsForOwnerItems(int expectedItems) {
+        Statistics statistics = resetStatistics();
+
+        List<ItemDto> result = itemService.getItemsByOwner(owner.getId());
+
+        assertEquals(expectedItems, result.size());
+        for (ItemDto item : result) {
+            assertNotNull(item.getLastBooking());
+            assertNotNull(item.getNextBooking());
+            assertTrue(item.getLastBooking().getEnd().isAfter(LocalDateTime.now().minusDays(3)));
+            assertTrue(item.getNextBooking().getStart().isAfter(LocalDateTime.now().plusDays(1).plusHours(12)));
+            assertEquals(1, item.getComments().size());
+            assertEquals("Booker", item.getComments().get(0).getAuthorName());
+        }
+        assertEquals(0, statistics.getEntityLoadCount());
+        return statistics.getPrepareStatementCount();
+    }
+
+    private void addItems(int count) {
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < count; i++) {
+            Item item = new Item(null, "Дрель " + i, "Мощная дрель", true, owner.getId(), null);
+            item.setBookingPointersRefreshAt(now.minusMinutes(1));
+            item = itemRepository.save(item);
+
+            bookingRepository.save(new Booking(null, now.minusDays(3), now.minusDays(2),
+                    item.getId(), booker.getId(), BookingStatus.APPROVED));
+            bookingRepository.save(new Booking(null, now.minusDays(5), now.minusDays(4),
+                    item.getId(), booker.getId(), BookingStatus.APPROVED));
+            bookingRepository.save(new Booking(null, now.plusDays(2), now.plusDays(3),
+                    item.getId(), booker.getId(), BookingStatus.APPROVED));
+            bookingRepository.save(new Booking(null, now.plusDays(1), now.plusDays(2).minusHours(1),
+                    item.getId(), booker.getId(), BookingStatus.WAITING));
+            commentRepository.save(new Comment(null, "Отличная дрель!", item.getId(), booker.getId(), now));
+        }
+    }
+}
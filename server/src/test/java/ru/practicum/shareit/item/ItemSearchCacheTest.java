@@ -0,0 +1,103 @@
+package ru.practicum.shareit.item;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemListView;
+import ru.practicum.shareit.item.service.ItemSearchCache;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ItemSearchCacheTest {
+
+    private ItemSearchCache cache;
+    private AtomicInteger loads;
+
+    @BeforeEach
+    void setUp() {
+        cache = new ItemSearchCache(new SimpleMeterRegistry(), 100, 60);
+        loads = new AtomicInteger();
+    }
+
+    @Test
+    void get_whenQueryDiffersOnlyInCaseAndSpaces_thenLoadOnceWithNormalisedText() {
+        cache.get(query("  Дрель ", 0, null, false), this::load);
+        List<ItemDto> result = cache.get(query("дРЕЛЬ", 0, null, false), this::load);
+
+        assertEquals(1, loads.get());
+        assertEquals("дрель", result.get(0).getName());
+    }
+
+    @Test
+    void get_whenPageOrModeDiffers_thenLoadSeparately() {
+        cache.get(query("дрель", 0, null, false), this::load);
+        cache.get(query("дрель", 10, null, false), this::load);
+        cache.get(query("дрель", 0, 5L, false), this::load);
+        cache.get(query("дрель", 0, null, true), this::load);
+        cache.get(new ItemSearchCache.Query("дрель", 0, 10, null, false, ItemListView.SUMMARY), this::load);
+
+        assertEquals(5, loads.get());
+    }
+
+    @Test
+    void catalogueChanged_whenOutsideTransaction_thenNextGetReloads() {
+        cache.get(query("дрель", 0, null, false), this::load);
+
+        cache.catalogueChanged();
+        cache.get(query("дрель", 0, null, false), this::load);
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void get_whenConcurrentMissesForSameKey_thenSingleLoad() throws Exception {
+        int threads = 8;
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<CompletableFuture<List<ItemDto>>> results = IntStream.range(0, threads)
+                    .mapToObj(i -> CompletableFuture.supplyAsync(
+                            () -> cache.get(query("дрель", 0, null, false), query -> {
+                                awaitQuietly(release);
+                                return load(query);
+                            }), executor))
+                    .toList();
+            TimeUnit.MILLISECONDS.sleep(100);
+            release.countDown();
+
+            for (CompletableFuture<List<ItemDto>> result : results) {
+                assertEquals(1, result.get(5, TimeUnit.SECONDS).size());
+            }
+            assertEquals(1, loads.get());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static ItemSearchCache.Query query(String text, int from, Long cursor, boolean fuzzy) {
+        return new ItemSearchCache.Query(text, from, 10, cursor, fuzzy, ItemListView.FULL);
+    }
+
+    private List<ItemDto> load(String query) {
+        loads.incrementAndGet();
+        return List.of(new ItemDto(1L, query, "Мощная дрель", true, null));
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
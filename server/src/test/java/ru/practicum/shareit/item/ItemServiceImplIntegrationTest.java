@@ -1,5 +1,6 @@
 package ru.practicum.shareit.item;
 
+import jakarta.persistence.EntityManager;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -9,13 +10,24 @@ import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.BookingStatus;
 import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.comment.dto.CommentDto;
 import ru.practicum.shareit.comment.model.Comment;
 import ru.practicum.shareit.comment.repository.CommentRepository;
 import ru.practicum.shareit.exception.EntityNotFoundException;
+import ru.practicum.shareit.exception.ValidationException;
+import ru.practicum.shareit.item.dto.AvailabilitySlotDto;
 import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemImportDto;
+import ru.practicum.shareit.item.dto.ItemImportResultDto;
+import ru.practicum.shareit.item.dto.ItemSummaryDto;
+import ru.practicum.shareit.item.mapper.ItemMapper;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.service.ItemBookingPointers;
 import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.item.service.ItemSearchCache;
+import ru.practicum.shareit.item.service.ItemTrigramIndex;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
 
@@ -44,6 +56,21 @@ class ItemServiceImplIntegrationTest {
     @Autowired
     private CommentRepository commentRepository;
 
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private ItemBookingPointers itemBookingPointers;
+
+    @Autowired
+    private ItemTrigramIndex itemTrigramIndex;
+
+    @Autowired
+    private ItemSearchCache itemSearchCache;
+
+    @Autowired
+    private EntityManager entityManager;
+
     private User owner;
     private User booker;
     private Item item;
@@ -58,6 +85,7 @@ class ItemServiceImplIntegrationTest {
 
         item = new Item(null, "Дрель", "Мощная дрель", true, owner.getId(), null);
         item = itemRepository.save(item);
+        itemSearchCache.invalidate();
     }
 
     @Test
@@ -69,6 +97,7 @@ class ItemServiceImplIntegrationTest {
                 booker.getId(),
                 BookingStatus.APPROVED);
         bookingRepository.save(booking);
+        itemBookingPointers.refresh(item.getId());
 
         Comment comment = new Comment(null,
                 "Отличная дрель!",
@@ -77,7 +106,7 @@ class ItemServiceImplIntegrationTest {
                 LocalDateTime.now());
         commentRepository.save(comment);
 
-        ItemDto result = itemService.getItemById(item.getId(), owner.getId());
+        ItemDto result = itemService.getItemById(item.getId(), owner.getId(), 0, 10);
 
         assertNotNull(result);
         assertEquals(item.getId(), result.getId());
@@ -88,6 +117,53 @@ class ItemServiceImplIntegrationTest {
         assertEquals("Отличная дрель!", result.getComments().get(0).getText());
     }
 
+    @Test
+    void getItemById_whenCommentsPaged_thenReturnNewestFirstWithAuthorNames() {
+        LocalDateTime created = LocalDateTime.now().minusDays(10);
+        for (int i = 0; i < 5; i++) {
+            commentRepository.save(new Comment(null, "Отзыв " + i, item.getId(), booker.getId(),
+                    created.plusDays(i)));
+        }
+
+        ItemDto firstPage = itemService.getItemById(item.getId(), booker.getId(), 0, 2);
+        ItemDto secondPage = itemService.getItemById(item.getId(), booker.getId(), 2, 2);
+
+        assertEquals(List.of("Отзыв 4", "Отзыв 3"),
+                firstPage.getComments().stream().map(CommentDto::getText).toList());
+        assertEquals(List.of("Отзыв 2", "Отзыв 1"),
+                secondPage.getComments().stream().map(CommentDto::getText).toList());
+        assertEquals("Booker", secondPage.getComments().get(0).getAuthorName());
+        assertNull(firstPage.getLastBooking());
+    }
+
+    @Test
+    void getItemById_whenCommentsSizeAbsent_thenReturnAllComments() {
+        LocalDateTime created = LocalDateTime.now().minusDays(20);
+        for (int i = 0; i < 12; i++) {
+            commentRepository.save(new Comment(null, "Отзыв " + i, item.getId(), booker.getId(),
+                    created.plusDays(i)));
+        }
+
+        ItemDto result = itemService.getItemById(item.getId(), booker.getId(), 0, null);
+
+        assertEquals(12, result.getComments().size());
+        assertEquals("Отзыв 11", result.getComments().get(0).getText());
+    }
+
+    @Test
+    void getItemById_whenCommentsFromNotMultipleOfSize_thenStartAtExactOffset() {
+        LocalDateTime created = LocalDateTime.now().minusDays(10);
+        for (int i = 0; i < 5; i++) {
+            commentRepository.save(new Comment(null, "Отзыв " + i, item.getId(), booker.getId(),
+                    created.plusDays(i)));
+        }
+
+        ItemDto result = itemService.getItemById(item.getId(), booker.getId(), 3, 2);
+
+        assertEquals(List.of("Отзыв 1", "Отзыв 0"),
+                result.getComments().stream().map(CommentDto::getText).toList());
+    }
+
     @Test
     void getItemsByOwner_whenOwnerHasItems_thenReturnAllItems() {
         Item item2 = new Item(null, "Молоток", "Тяжелый молоток", true, owner.getId(), null);
@@ -100,18 +176,149 @@ class ItemServiceImplIntegrationTest {
         assertTrue(result.stream().anyMatch(i -> i.getName().equals("Молоток")));
     }
 
+    @Test
+    void getItemsByOwner_whenFutureBookingApproved_thenReadNextBookingFromItemRow() {
+        LocalDateTime start = LocalDateTime.now().plusDays(1).withNano(0);
+        Booking booking = bookingRepository.save(new Booking(null, start, start.plusDays(1),
+                item.getId(), booker.getId(), BookingStatus.WAITING));
+
+        bookingService.approveBooking(booking.getId(), owner.getId(), true);
+        entityManager.flush();
+        entityManager.clear();
+
+        Item stored = itemRepository.findById(item.getId()).orElseThrow();
+        assertEquals(booking.getId(), stored.getNextBooking().getBookingId());
+        assertEquals(start, stored.getBookingPointersRefreshAt());
+
+        List<ItemDto> result = itemService.getItemsByOwner(owner.getId());
+
+        assertEquals(1, result.size());
+        assertEquals(booking.getId(), result.get(0).getNextBooking().getId());
+        assertNull(result.get(0).getLastBooking());
+    }
+
+    @Test
+    void getItemById_whenPointersDue_thenRecomputeFromBookings() {
+        LocalDateTime end = LocalDateTime.now().minusDays(1).withNano(0);
+        Booking booking = bookingRepository.save(new Booking(null, end.minusDays(1), end,
+                item.getId(), booker.getId(), BookingStatus.APPROVED));
+        item.setBookingPointersRefreshAt(end);
+
+        ItemDto result = itemService.getItemById(item.getId(), owner.getId(), 0, 10);
+
+        assertEquals(booking.getId(), result.getLastBooking().getId());
+        assertNull(result.getNextBooking());
+
+        itemBookingPointers.refreshDue();
+
+        assertEquals(booking.getId(), item.getLastBooking().getBookingId());
+        assertNull(item.getBookingPointersRefreshAt());
+    }
+
     @Test
     void searchItems_whenTextMatches_thenReturnAvailableItems() {
         Item unavailableItem = new Item(null, "Дрель аккумуляторная", "Нет батареи", false, owner.getId(), null);
         itemRepository.save(unavailableItem);
+        itemTrigramIndex.rebuild();
 
-        List<ItemDto> result = itemService.searchItems("дрель", booker.getId());
+        List<ItemDto> result = itemService.searchItems("дрель", booker.getId(), 0, 10, null, false);
 
         assertEquals(1, result.size());
         assertEquals("Дрель", result.get(0).getName());
         assertTrue(result.get(0).getAvailable());
     }
 
+    @Test
+    void searchItems_whenPageRequested_thenReturnOnlyThatPage() {
+        Item second = itemRepository.save(new Item(null, "Дрель ударная", "С кейсом", true, owner.getId(), null));
+        Item third = itemRepository.save(new Item(null, "Шуруповёрт", "Почти дрель", true, owner.getId(), null));
+        itemRepository.save(new Item(null, "Молоток", "Тяжелый молоток", true, owner.getId(), null));
+        itemTrigramIndex.rebuild();
+
+        List<ItemDto> result = itemService.searchItems("дрель", booker.getId(), 1, 2, null, false);
+
+        assertEquals(List.of(second.getId(), third.getId()), result.stream().map(ItemDto::getId).toList());
+    }
+
+    @Test
+    void searchItems_whenCursorGiven_thenContinueAfterCursorInRankOrder() {
+        Item described = itemRepository.save(new Item(null, "Шуруповёрт", "Почти дрель", true, owner.getId(), null));
+        Item inName = itemRepository.save(new Item(null, "Мини-дрель", "Для гравировки", true, owner.getId(), null));
+        itemTrigramIndex.rebuild();
+
+        List<ItemDto> firstPage = itemService.searchItems("дрель", booker.getId(), 0, 2, null, false);
+        List<ItemDto> secondPage = itemService.searchItems("дрель", booker.getId(), 0, 2,
+                firstPage.get(1).getId(), false);
+
+        assertEquals(List.of(item.getId(), inName.getId()), firstPage.stream().map(ItemDto::getId).toList());
+        assertEquals(List.of(described.getId()), secondPage.stream().map(ItemDto::getId).toList());
+    }
+
+    @Test
+    void searchItemSummaries_whenDescriptionLong_thenReturnTruncatedSnippet() {
+        String manual = "Инструкция. " + "Перед началом работы проверьте крепление сверла. ".repeat(10);
+        Item drill = itemRepository.save(new Item(null, "Дрель ударная", manual, true, owner.getId(), null));
+        itemTrigramIndex.rebuild();
+
+        List<ItemSummaryDto> result = itemService.searchItemSummaries("ударная", booker.getId(), 0, 10, null, false);
+
+        assertEquals(1, result.size());
+        assertEquals(drill.getId(), result.get(0).getId());
+        assertTrue(result.get(0).getSnippet().endsWith("…"));
+        assertTrue(result.get(0).getSnippet().length() <= ItemMapper.SNIPPET_LENGTH + 1);
+        assertTrue(manual.startsWith(result.get(0).getSnippet().substring(0, 20)));
+    }
+
+    @Test
+    void getItemSummariesByOwner_whenItemsExist_thenReturnSnippetsFromDatabase() {
+        String manual = "Мощная дрель. " + "Используйте только с защитными очками. ".repeat(10);
+        itemRepository.save(new Item(null, "Перфоратор", manual, false, owner.getId(), null));
+
+        List<ItemSummaryDto> result = itemService.getItemSummariesByOwner(owner.getId());
+
+        assertEquals(2, result.size());
+        assertEquals("Мощная дрель", result.get(0).getSnippet());
+        assertEquals("Перфоратор", result.get(1).getName());
+        assertFalse(result.get(1).getAvailable());
+        assertTrue(result.get(1).getSnippet().endsWith("…"));
+        assertTrue(result.get(1).getSnippet().length() <= ItemMapper.SNIPPET_LENGTH + 1);
+    }
+
+    @Test
+    void searchItems_whenFuzzyAndQueryMisspelled_thenReturnSimilarAvailableItems() {
+        Item makita = itemRepository.save(new Item(null, "Makita", "Перфоратор", true, owner.getId(), null));
+        itemRepository.save(new Item(null, "Makita HR2470", "Сдан в ремонт", false, owner.getId(), null));
+        entityManager.flush();
+
+        List<ItemDto> exact = itemService.searchItems("makitta", booker.getId(), 0, 10, null, false);
+        List<ItemDto> fuzzy = itemService.searchItems("makitta", booker.getId(), 0, 10, null, true);
+
+        assertTrue(exact.isEmpty());
+        assertEquals(List.of(makita.getId()), fuzzy.stream().map(ItemDto::getId).toList());
+    }
+
+    @Test
+    void searchItems_whenFuzzyWithCursor_thenThrowException() {
+        assertThrows(ValidationException.class,
+                () -> itemService.searchItems("makitta", booker.getId(), 0, 10, 1L, true));
+    }
+
+    @Test
+    void searchAvailableIds_whenRankedInDatabase_thenNamePrefixFirstAndPaged() {
+        Item described = itemRepository.save(new Item(null, "Шуруповёрт", "Почти дрель", true, owner.getId(), null));
+        Item inName = itemRepository.save(new Item(null, "Мини-дрель", "Для гравировки", true, owner.getId(), null));
+        Item descriptionPrefix = itemRepository.save(
+                new Item(null, "Сверло", "Дрель не входит", true, owner.getId(), null));
+        itemRepository.save(new Item(null, "Дрель_2", "Недоступна", false, owner.getId(), null));
+        entityManager.flush();
+
+        assertEquals(List.of(item.getId(), inName.getId(), descriptionPrefix.getId(), described.getId()),
+                itemRepository.searchAvailableIds("ДРЕЛЬ", -1, 0, 0, 10));
+        assertEquals(List.of(descriptionPrefix.getId()),
+                itemRepository.searchAvailableIds("дрель", 1, inName.getId(), 0, 1));
+        assertTrue(itemRepository.searchAvailableIds("%", -1, 0, 0, 10).isEmpty());
+    }
+
     @Test
     void createItem_whenValidData_thenItemCreated() {
         ItemDto newItemDto = new ItemDto(null, "Пила", "Цепная пила", true, null);
@@ -128,6 +335,31 @@ class ItemServiceImplIntegrationTest {
         assertEquals(owner.getId(), savedItem.getOwnerId());
     }
 
+    @Test
+    void importItems_whenRowsGiven_thenInsertAllAndReturnIdsByLine() {
+        List<ItemImportDto> rows = List.of(
+                new ItemImportDto(2L, "Пила", "Цепная пила", true, null),
+                new ItemImportDto(3L, "Топор", "Туристический топор", false, null),
+                new ItemImportDto(5L, "Лопата", "Штыковая лопата", true, null));
+
+        List<ItemImportResultDto> results = itemService.importItems(rows, owner.getId());
+
+        assertEquals(List.of(2L, 3L, 5L), results.stream().map(ItemImportResultDto::getLine).toList());
+        assertTrue(results.stream().allMatch(result -> result.getItemId() != null && result.getError() == null));
+        Item axe = itemRepository.findById(results.get(1).getItemId()).orElseThrow();
+        assertEquals("Топор", axe.getName());
+        assertFalse(axe.getAvailable());
+        assertEquals(owner.getId(), axe.getOwnerId());
+        assertEquals(4, itemRepository.findDetailsByOwnerId(owner.getId()).size());
+    }
+
+    @Test
+    void importItems_whenOwnerMissing_thenThrowException() {
+        List<ItemImportDto> rows = List.of(new ItemImportDto(1L, "Пила", "Цепная пила", true, null));
+
+        assertThrows(EntityNotFoundException.class, () -> itemService.importItems(rows, 999L));
+    }
+
     @Test
     void updateItem_whenOwnerUpdates_thenItemUpdated() {
         ItemDto updateDto = new ItemDto(null, "Дрель Updated", "Обновленное описание", false, null);
@@ -145,6 +377,23 @@ class ItemServiceImplIntegrationTest {
         assertFalse(updatedItem.getAvailable());
     }
 
+    @Test
+    void updateItem_whenNextBookingOfferedMeanwhile_thenKeepPointer() {
+        LocalDateTime start = LocalDateTime.now().plusDays(1).withNano(0);
+        Booking booking = bookingRepository.save(new Booking(null, start, start.plusDays(1),
+                item.getId(), booker.getId(), BookingStatus.APPROVED));
+        itemRepository.offerNextBooking(item.getId(), booking.getId(), booker.getId(),
+                booking.getStart(), booking.getEnd());
+
+        itemService.updateItem(item.getId(), new ItemDto(null, "Дрель Updated", null, null, null), owner.getId());
+        entityManager.flush();
+        entityManager.clear();
+
+        Item stored = itemRepository.findById(item.getId()).orElseThrow();
+        assertEquals("Дрель Updated", stored.getName());
+        assertEquals(booking.getId(), stored.getNextBooking().getBookingId());
+    }
+
     @Test
     void updateItem_whenNotOwner_thenThrowException() {
         ItemDto updateDto = new ItemDto(null, "Новое название", null, null, null);
@@ -152,4 +401,84 @@ class ItemServiceImplIntegrationTest {
         assertThrows(EntityNotFoundException.class,
                 () -> itemService.updateItem(item.getId(), updateDto, booker.getId()));
     }
+
+    @Test
+    void getItemETag_whenItemUpdatedOrCommented_thenETagChanges() {
+        String initial = itemService.getItemETag(item.getId(), booker.getId());
+
+        itemService.updateItem(item.getId(), new ItemDto(null, "Дрель Updated", null, null, null), owner.getId());
+        String updated = itemService.getItemETag(item.getId(), booker.getId());
+
+        commentRepository.save(new Comment(null, "Отличная дрель!", item.getId(), booker.getId(),
+                LocalDateTime.now()));
+        String commented = itemService.getItemETag(item.getId(), booker.getId());
+
+        assertNotEquals(initial, updated);
+        assertNotEquals(updated, commented);
+        assertEquals(commented, itemService.getItemETag(item.getId(), booker.getId()));
+        assertNotEquals(commented, itemService.getItemETag(item.getId(), owner.getId()));
+    }
+
+    @Test
+    void getItemETag_whenCommentAuthorRenamed_thenETagChanges() {
+        commentRepository.save(new Comment(null, "Отличная дрель!", item.getId(), booker.getId(),
+                LocalDateTime.now()));
+        String commented = itemService.getItemETag(item.getId(), booker.getId());
+
+        booker.setName("Новое имя");
+        userRepository.saveAndFlush(booker);
+
+        assertNotEquals(commented, itemService.getItemETag(item.getId(), booker.getId()));
+    }
+
+    @Test
+    void getItemETag_whenBookingPointersChanged_thenOnlyOwnerETagChangesAndUpdateSucceeds() {
+        LocalDateTime start = LocalDateTime.now().plusDays(1).withNano(0);
+        Booking booking = bookingRepository.save(new Booking(null, start, start.plusDays(1),
+                item.getId(), booker.getId(), BookingStatus.APPROVED));
+        String bookerTag = itemService.getItemETag(item.getId(), booker.getId());
+        String ownerTag = itemService.getItemETag(item.getId(), owner.getId());
+
+        itemRepository.offerNextBooking(item.getId(), booking.getId(), booker.getId(),
+                booking.getStart(), booking.getEnd());
+        itemBookingPointers.refresh(item.getId());
+        entityManager.flush();
+
+        assertEquals(bookerTag, itemService.getItemETag(item.getId(), booker.getId()));
+        assertNotEquals(ownerTag, itemService.getItemETag(item.getId(), owner.getId()));
+
+        itemService.updateItem(item.getId(), new ItemDto(null, "Дрель Updated", null, null, null), owner.getId());
+        entityManager.flush();
+        assertNotEquals(bookerTag, itemService.getItemETag(item.getId(), booker.getId()));
+    }
+
+    @Test
+    void getItemAvailability_whenBookingsInWindow_thenReturnGapsBetweenThem() {
+        LocalDateTime from = LocalDateTime.now().plusDays(1).withNano(0);
+        LocalDateTime to = from.plusDays(10);
+        bookingRepository.save(new Booking(null, from.plusDays(1), from.plusDays(3),
+                item.getId(), booker.getId(), BookingStatus.APPROVED));
+        bookingRepository.save(new Booking(null, from.plusDays(2), from.plusDays(4),
+                item.getId(), booker.getId(), BookingStatus.WAITING));
+        bookingRepository.save(new Booking(null, from.plusDays(5), from.plusDays(6),
+                item.getId(), booker.getId(), BookingStatus.REJECTED));
+        bookingRepository.save(new Booking(null, from.plusDays(8), from.plusDays(12),
+                item.getId(), booker.getId(), BookingStatus.APPROVED));
+
+        List<AvailabilitySlotDto> result = itemService.getItemAvailability(item.getId(), from, to);
+
+        assertEquals(List.of(
+                new AvailabilitySlotDto(from, from.plusDays(1)),
+                new AvailabilitySlotDto(from.plusDays(4), from.plusDays(8))), result);
+    }
+
+    @Test
+    void getItemAvailability_whenWindowInverted_thenThrowException() {
+        LocalDateTime from = LocalDateTime.now().plusDays(2);
+
+        assertThrows(ValidationException.class,
+                () -> itemService.getItemAvailability(item.getId(), from, from.minusDays(1)));
+        assertThrows(EntityNotFoundException.class,
+                () -> itemService.getItemAvailability(999L, from, from.plusDays(1)));
+    }
 }
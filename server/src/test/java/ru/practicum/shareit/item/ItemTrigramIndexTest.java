@@ -0,0 +1,113 @@
+package ru.practicum.shareit.item;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.service.ItemSearchRank;
+import ru.practicum.shareit.item.service.ItemTrigramIndex;
+
+import java.util.List;
+import java.util.OptionalInt;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ItemTrigramIndexTest {
+
+    @Mock
+    private ItemRepository itemRepository;
+
+    private ItemTrigramIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new ItemTrigramIndex(itemRepository, true);
+    }
+
+    @Test
+    void search_whenQueryIsInsideWord_thenFindItem() {
+        index.put(item(1L, "Дрель", "Мощная дрель", true));
+        index.put(item(2L, "Молоток", "Тяжелый молоток", true));
+
+        assertEquals(List.of(1L), ids(search("дрел", 0, 10)));
+        assertEquals(List.of(1L), ids(search("РЕЛЬ", 0, 10)));
+        assertEquals(List.of(2L), ids(search("ток", 0, 10)));
+        assertEquals(List.of(2L, 1L), ids(search("о", 0, 10)));
+    }
+
+    @Test
+    void search_whenQuerySpansNameAndDescription_thenNoMatch() {
+        index.put(item(1L, "Пила", "Ручная", true));
+
+        assertTrue(search("пила ручная", 0, 10).isEmpty());
+        assertTrue(search("лару", 0, 10).isEmpty());
+    }
+
+    @Test
+    void put_whenItemUpdated_thenOldTextForgottenAndUnavailableRemoved() {
+        index.put(item(1L, "Дрель", "Мощная дрель", true));
+        index.put(item(1L, "Перфоратор", "С насадками", true));
+
+        assertTrue(search("дрель", 0, 10).isEmpty());
+        assertEquals(List.of(1L), ids(search("насадк", 0, 10)));
+
+        index.put(item(1L, "Перфоратор", "С насадками", false));
+
+        assertTrue(search("насадк", 0, 10).isEmpty());
+    }
+
+    @Test
+    void search_whenPageRequested_thenSkipAndLimitMatchesInIdOrder() {
+        for (long id = 5; id >= 1; id--) {
+            index.put(item(id, "Дрель " + id, "Описание", true));
+        }
+
+        ItemDto first = search("дрель", 1, 2).get(0);
+
+        assertEquals(List.of(2L, 3L), ids(search("дрель", 1, 2)));
+        assertEquals("Дрель 2", first.getName());
+        assertTrue(first.getAvailable());
+    }
+
+    @Test
+    void rebuild_whenRepositoryHasItems_thenIndexThem() {
+        when(itemRepository.findTop1000ByAvailableTrueAndIdGreaterThanOrderByIdAsc(anyLong()))
+                .thenReturn(List.of(item(7L, "Стремянка", "Алюминиевая", true)));
+
+        index.rebuild();
+
+        assertEquals(List.of(7L), ids(search("миниев", 0, 10)));
+    }
+
+    @Test
+    void search_whenMatchesInDifferentFields_thenRankNamePrefixFirst() {
+        index.put(item(1L, "Шуруповёрт", "Почти дрель", true));
+        index.put(item(2L, "Сверло", "Дрель не входит", true));
+        index.put(item(3L, "Мини-дрель", "Для гравировки", true));
+        index.put(item(4L, "Дрель", "Мощная", true));
+
+        assertEquals(List.of(4L, 3L, 2L, 1L), ids(search("дрель", 0, 10)));
+        assertEquals(List.of(3L, 2L), ids(search("дрель", 1, 2)));
+        assertEquals(OptionalInt.of(ItemSearchRank.NAME), index.rank(3L, "ДРЕЛЬ"));
+        assertEquals(List.of(2L, 1L), ids(index.search("дрель", ItemSearchRank.NAME, 3L, 0, 10)));
+    }
+
+    private List<ItemDto> search(String text, int from, int size) {
+        return index.search(text, -1, 0, from, size);
+    }
+
+    private static Item item(Long id, String name, String description, boolean available) {
+        return new Item(id, name, description, available, 1L, null);
+    }
+
+    private static List<Long> ids(List<ItemDto> items) {
+        return items.stream().map(ItemDto::getId).toList();
+    }
+}
@@ -156,7 +156,8 @@ class ItemRequestControllerTest {
         Mockito.when(itemRequestService.getAllRequests(
                 Mockito.any(),
                 Mockito.anyInt(),
-                Mockito.anyInt()
+                Mockito.anyInt(),
+                Mockito.any()
         )).thenReturn(requests);
 
         mockMvc.perform(get("/requests/all")
@@ -173,7 +174,8 @@ class ItemRequestControllerTest {
         Mockito.when(itemRequestService.getAllRequests(
                 Mockito.any(),
                 Mockito.anyInt(),
-                Mockito.anyInt()
+                Mockito.anyInt(),
+                Mockito.any()
         )).thenReturn(Collections.emptyList());
 
         mockMvc.perform(get("/requests/all")
@@ -190,7 +192,8 @@ class ItemRequestControllerTest {
         Mockito.when(itemRequestService.getAllRequests(
                 Mockito.any(),
                 Mockito.anyInt(),
-                Mockito.anyInt()
+                Mockito.anyInt(),
+                Mockito.any()
         )).thenReturn(Collections.emptyList());
 
         mockMvc.perform(get("/requests/all")
@@ -226,7 +229,8 @@ class ItemRequestControllerTest {
         Mockito.when(itemRequestService.getAllRequests(
                 Mockito.any(),
                 Mockito.anyInt(),
-                Mockito.anyInt()
+                Mockito.anyInt(),
+                Mockito.any()
         )).thenReturn(Collections.emptyList());
 
         mockMvc.perform(get("/requests/all")
@@ -265,7 +269,8 @@ class ItemRequestControllerTest {
         Mockito.when(itemRequestService.getAllRequests(
                 Mockito.any(),
                 Mockito.anyInt(),
-                Mockito.anyInt()
+                Mockito.anyInt(),
+                Mockito.any()
         )).thenReturn(Collections.emptyList());
 
         mockMvc.perform(get("/requests/all")
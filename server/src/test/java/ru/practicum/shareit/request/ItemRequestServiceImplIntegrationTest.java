@@ -75,6 +75,27 @@ class ItemRequestServiceImplIntegrationTest {
         assertEquals("Первый запрос", result.get(1).getDescription());
     }
 
+    @Test
+    void getRequestsByRequestor_whenRequestsAnswered_thenEmbedItems() {
+        ItemRequestDto answered = itemRequestService.createRequest(
+                new ItemRequestDto(null, "Нужна дрель", null, null), requestor.getId());
+        itemRequestService.createRequest(new ItemRequestDto(null, "Нужна пила", null, null), requestor.getId());
+        itemRepository.save(new Item(null, "Дрель", "Мощная дрель", true, anotherUser.getId(), answered.getId()));
+
+        List<ItemRequestDto> result = itemRequestService.getRequestsByRequestor(requestor.getId());
+
+        assertEquals(2, result.size());
+        assertTrue(result.get(0).getItems().isEmpty());
+        assertEquals(answered.getId(), result.get(1).getId());
+        assertEquals(1, result.get(1).getItems().size());
+        assertEquals(anotherUser.getId(), result.get(1).getItems().get(0).getOwnerId());
+    }
+
+    @Test
+    void getRequestsByRequestor_whenUserNotExists_thenThrowException() {
+        assertThrows(EntityNotFoundException.class, () -> itemRequestService.getRequestsByRequestor(999L));
+    }
+
     @Test
     void getAllRequests_whenOtherUsersHaveRequests_thenReturnPaginated() {
         ItemRequestDto request1 = itemRequestService.createRequest(
@@ -89,16 +110,52 @@ class ItemRequestServiceImplIntegrationTest {
         itemRequestService.createRequest(
                 new ItemRequestDto(null, "Мой запрос", null, null), requestor.getId());
 
-        List<ItemRequestDto> page1 = itemRequestService.getAllRequests(requestor.getId(), 0, 2);
+        List<ItemRequestDto> page1 = itemRequestService.getAllRequests(requestor.getId(), 0, 2, null);
         assertEquals(2, page1.size());
 
-        List<ItemRequestDto> page2 = itemRequestService.getAllRequests(requestor.getId(), 2, 2);
+        List<ItemRequestDto> page2 = itemRequestService.getAllRequests(requestor.getId(), 2, 2, null);
         assertEquals(1, page2.size());
 
         assertTrue(page1.stream().noneMatch(r -> r.getDescription().equals("Мой запрос")));
         assertTrue(page2.stream().noneMatch(r -> r.getDescription().equals("Мой запрос")));
     }
 
+    @Test
+    void getAllRequests_whenFromNotMultipleOfSize_thenStartAtExactOffset() {
+        ItemRequestDto request1 = itemRequestService.createRequest(
+                new ItemRequestDto(null, "Запрос 1", null, null), anotherUser.getId());
+        ItemRequestDto request2 = itemRequestService.createRequest(
+                new ItemRequestDto(null, "Запрос 2", null, null), anotherUser.getId());
+        itemRequestService.createRequest(
+                new ItemRequestDto(null, "Запрос 3", null, null), anotherUser.getId());
+
+        List<ItemRequestDto> result = itemRequestService.getAllRequests(requestor.getId(), 1, 2, null);
+
+        assertEquals(List.of(request2.getId(), request1.getId()),
+                result.stream().map(ItemRequestDto::getId).toList());
+    }
+
+    @Test
+    void getAllRequests_whenCursorGiven_thenContinueAfterCursorWithItems() {
+        ItemRequestDto older = itemRequestService.createRequest(
+                new ItemRequestDto(null, "Запрос 1", null, null), anotherUser.getId());
+        ItemRequestDto newer = itemRequestService.createRequest(
+                new ItemRequestDto(null, "Запрос 2", null, null), anotherUser.getId());
+        itemRepository.save(new Item(null, "Дрель", "Мощная дрель", true, requestor.getId(), older.getId()));
+        itemRepository.save(new Item(null, "Шуруповерт", "Аккумуляторный", true, requestor.getId(), older.getId()));
+
+        List<ItemRequestDto> firstPage = itemRequestService.getAllRequests(requestor.getId(), 0, 1, null);
+        List<ItemRequestDto> nextPage = itemRequestService.getAllRequests(requestor.getId(), 0, 1,
+                firstPage.get(0).getId());
+
+        assertEquals(newer.getId(), firstPage.get(0).getId());
+        assertTrue(firstPage.get(0).getItems().isEmpty());
+        assertEquals(older.getId(), nextPage.get(0).getId());
+        assertEquals(List.of("Дрель", "Шуруповерт"),
+                nextPage.get(0).getItems().stream().map(ItemRequestDto.ItemInfo::getName).toList());
+        assertTrue(itemRequestService.getAllRequests(requestor.getId(), 0, 1, older.getId()).isEmpty());
+    }
+
     @Test
     void getRequestById_whenRequestHasItems_thenReturnWithItems() {
         ItemRequestDto request = itemRequestService.createRequest(
@@ -0,0 +1,50 @@
+package ru.practicum.shareit.request;
+
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import ru.practicum.shareit.common.StatementCountIntegrationTest;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.request.dto.ItemRequestDto;
+import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.request.repository.ItemRequestRepository;
+import ru.practicum.shareit.request.service.ItemRequestService;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ItemRequestStatementCountIntegrationTest extends StatementCountIntegrationTest {
+
+    @Autowired
+    private ItemRequestService itemRequestService;
+
+    @Autowired
+    private ItemRequestRepository itemRequestRepository;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Test
+    void getRequestsByRequestor_whenManyRequestsAnswered_thenTwoStatements() {
+        User requestor = saveUser("Requestor");
+        User owner = saveUser("Owner");
+        LocalDateTime created = LocalDateTime.now().minusDays(1);
+        for (int i = 0; i < 20; i++) {
+            ItemRequest request = itemRequestRepository.save(
+                    new ItemRequest(null, "Запрос " + i, requestor.getId(), created.plusMinutes(i)));
+            itemRepository.save(new Item(null, "Вещь " + i, "Описание", true, owner.getId(), request.getId()));
+        }
+        Statistics statistics = resetStatistics();
+
+        List<ItemRequestDto> result = itemRequestService.getRequestsByRequestor(requestor.getId());
+
+        assertEquals(20, result.size());
+        assertEquals("Запрос 19", result.get(0).getDescription());
+        assertTrue(result.stream().allMatch(request -> request.getItems().size() == 1));
+        assertEquals(2, statistics.getPrepareStatementCount());
+    }
+}